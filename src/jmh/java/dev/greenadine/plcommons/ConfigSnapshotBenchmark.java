@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups in the flattened {@link ConfigSnapshot} with lookups in the configuration tree it was compiled from, which splits the
+ * path and walks a section for each of its segments.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigSnapshotBenchmark {
+
+    private static final String INT_PATH = "arenas.arena-42.teams.red.spawn.x";
+    private static final String STRING_PATH = "arenas.arena-42.world";
+
+    private YamlConfiguration config;
+    private ConfigSnapshot snapshot;
+
+    @Setup
+    public void setup() {
+        config = new YamlConfiguration();
+        for (int i = 0; i < 100; i++) {
+            final String arena = "arenas.arena-" + i;
+            config.set(arena + ".world", "world_" + i);
+            config.set(arena + ".max-players", 16);
+            for (String team : new String[]{"red", "blue"}) {
+                config.set(arena + ".teams." + team + ".spawn.x", i * 10);
+                config.set(arena + ".teams." + team + ".spawn.y", 64);
+                config.set(arena + ".teams." + team + ".spawn.z", -i * 10);
+            }
+        }
+        snapshot = ConfigSnapshot.of(config);
+    }
+
+    @Benchmark
+    public int treeGetInt() {
+        return config.getInt(INT_PATH);
+    }
+
+    @Benchmark
+    public int snapshotGetInt() {
+        return snapshot.getInt(INT_PATH);
+    }
+
+    @Benchmark
+    public String treeGetString() {
+        return config.getString(STRING_PATH);
+    }
+
+    @Benchmark
+    public String snapshotGetString() {
+        return snapshot.getString(STRING_PATH);
+    }
+}
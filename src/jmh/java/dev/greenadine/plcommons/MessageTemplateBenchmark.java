@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares rendering a compiled {@link MessageTemplate} with the regex pipeline it replaced, which replaced each placeholder with its own
+ * regex and then applied the color format to the whole message with another one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageTemplateBenchmark {
+
+    private static final String MESSAGE = "{2:%player%} joined arena {3:%arena%} ({4:%players%}/{4:%max_players%}), the game starts in "
+            + "{5:%countdown%} seconds.";
+    private static final String[] REPLACEMENTS = {"player", "Greenadine", "arena", "Castle", "players", "7", "max_players", "16",
+            "countdown", "30"};
+
+    private PLCMessageFormatter formatter;
+    private MessageTemplate template;
+
+    @Setup
+    public void setup() {
+        formatter = new PLCMessageFormatter(ChatColor.GRAY, ChatColor.DARK_GRAY, ChatColor.GOLD, ChatColor.GREEN, ChatColor.YELLOW,
+                ChatColor.RED);
+        template = formatter.compile(MESSAGE);
+    }
+
+    @Benchmark
+    public String regexPipeline() {
+        String message = MESSAGE;
+        for (int i = 0; i < REPLACEMENTS.length; i += 2) {
+            final Pattern pattern = PLCPatterns.getPattern(Pattern.quote("%" + REPLACEMENTS[i] + "%"));
+            message = pattern.matcher(message).replaceAll(Matcher.quoteReplacement(REPLACEMENTS[i + 1]));
+        }
+        return formatter.format(message);
+    }
+
+    @Benchmark
+    public String singleScanThenFormat() {
+        return formatter.format(Placeholders.replace(MESSAGE, REPLACEMENTS));
+    }
+
+    @Benchmark
+    public String template() {
+        return template.render(REPLACEMENTS);
+    }
+}
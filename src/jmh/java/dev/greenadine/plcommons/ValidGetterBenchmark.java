@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import dev.greenadine.plcommons.exception.InvalidConfigValueException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compares testing a condition on a boxed integer, as {@link PLCConfig#getInt(String, Predicate, String)} did before
+ * {@link PLCConfig#getValidInt(String, IntPredicate, String)} was added, with testing it on the primitive value, and with skipping it for a
+ * value the schema already validated. The bodies mirror those of the getters, as a {@link PLCConfig} cannot be created without a running
+ * plugin. The value lies outside the range of the {@link Integer} cache, so that boxing allocates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidGetterBenchmark {
+
+    private static final String PATH = "arena.countdown-ticks";
+
+    private final Predicate<Integer> boxedCondition = value -> value >= 20 && value <= 72000;
+    private final IntPredicate condition = ConfigValidators.intRange(20, 72000);
+    private ConfigSnapshot snapshot;
+    private ConfigSnapshot validatedSnapshot;
+
+    @Setup
+    public void setup() {
+        final YamlConfiguration config = new YamlConfiguration();
+        config.set(PATH, 1200);
+        snapshot = ConfigSnapshot.of(config);
+        validatedSnapshot = ConfigSchema.create().requireInt(PATH, condition).validate(snapshot, "config.yml");
+    }
+
+    @Benchmark
+    public int boxed() {
+        final Integer value = snapshot.getInt(PATH);
+        if (!boxedCondition.test(value))
+            throw new InvalidConfigValueException(PATH, (String) null);
+        return value;
+    }
+
+    @Benchmark
+    public int primitive() {
+        final int value = snapshot.getInt(PATH);
+        if (!condition.test(value))
+            throw new InvalidConfigValueException(PATH, (String) null);
+        return value;
+    }
+
+    @Benchmark
+    public int validated() {
+        final ConfigSnapshot.Entry entry = validatedSnapshot.getEntry(PATH);
+        if (entry != null && entry.isValidatedBy(condition) && entry.number)
+            return entry.intValue;
+        final int value = validatedSnapshot.getInt(PATH);
+        if (!condition.test(value))
+            throw new InvalidConfigValueException(PATH, (String) null);
+        return value;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link MessageTemplate} compiled into Adventure {@link Component}s. The static parts of the message are built once, so that rendering
+ * only creates components for the placeholders.
+ *
+ * @since 0.1
+ */
+final class ComponentTemplate {
+
+    static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+    private final MessageTemplate template;
+    private final Part[] parts;
+    private final Component rendered;
+
+    private ComponentTemplate(@NotNull MessageTemplate template, @NotNull List<Part> parts) {
+        this.template = template;
+        this.parts = parts.toArray(new Part[0]);
+        boolean placeholders = false;
+        for (Part part : this.parts)
+            placeholders |= part.placeholder != null;
+        this.rendered = placeholders ? null : build(template, this.parts, null, null);
+    }
+
+    /**
+     * Compiles the given template.
+     *
+     * @param template the template.
+     * @return the compiled template.
+     */
+    static @NotNull ComponentTemplate compile(@NotNull MessageTemplate template) {
+        final List<Part> parts = new ArrayList<>();
+        final StringBuilder text = new StringBuilder();
+        Style style = Style.empty();
+        for (MessageTemplate.Segment segment : template.getSegments()) {
+            switch (segment.kind) {
+                case LITERAL:
+                    text.append(segment.text);
+                    break;
+                case COLOR:
+                    flush(parts, text, style);
+                    style = styleOf(segment.style, segment.color);
+                    break;
+                case PLACEHOLDER:
+                    flush(parts, text, style);
+                    parts.add(new Part(null, segment.text, style));
+                    break;
+            }
+        }
+        flush(parts, text, style);
+        return new ComponentTemplate(template, parts);
+    }
+
+    /**
+     * Renders this template.
+     *
+     * @param replacements the replacements for the placeholders, as key-value pairs.
+     * @return the rendered message.
+     * @throws IllegalArgumentException if the replacements are not in pairs of two.
+     * @see MessageTemplate#render(String...)
+     */
+    @NotNull Component render(String... replacements) {
+        if (replacements.length % 2 != 0)
+            throw new IllegalArgumentException("Replacements must be in pairs of two.");
+        if (template.requiresFullScan(replacements))
+            return LEGACY.deserialize(template.render(replacements));
+        return rendered != null ? rendered : build(template, parts, replacements, null);
+    }
+
+    /**
+     * Renders this template.
+     *
+     * @param replacements the replacements for the placeholders.
+     * @return the rendered message.
+     * @see MessageTemplate#render(Map)
+     */
+    @NotNull Component render(@NotNull Map<String, ?> replacements) {
+        if (template.requiresFullScan(replacements))
+            return LEGACY.deserialize(template.render(replacements));
+        return rendered != null ? rendered : build(template, parts, null, replacements);
+    }
+
+    /**
+     * Creates a text component, deserializing any legacy formatting codes within the text.
+     *
+     * @param text  the text.
+     * @param style the style of the text.
+     * @return the component.
+     */
+    static @NotNull Component text(@NotNull String text, @NotNull Style style) {
+        if (text.indexOf(ChatColor.COLOR_CHAR) < 0)
+            return Component.text(text, style);
+        return Component.text().style(style).append(LEGACY.deserialize(text)).build();
+    }
+
+    /**
+     * Gets the style for a legacy color, optionally combined with a legacy format.
+     *
+     * @param format the format, or {@code null} for none.
+     * @param color  the color.
+     * @return the style.
+     */
+    static @NotNull Style styleOf(@Nullable ChatColor format, @NotNull ChatColor color) {
+        final Style.Builder builder = Style.style();
+        apply(builder, color);
+        if (format != null)
+            apply(builder, format);
+        return builder.build();
+    }
+
+    private static void apply(@NotNull Style.Builder builder, @NotNull ChatColor color) {
+        if (color.isColor()) {
+            builder.color(NamedTextColor.NAMES.value(color.name().toLowerCase(Locale.ROOT)));
+            return;
+        }
+        switch (color) {
+            case MAGIC:
+                builder.decoration(TextDecoration.OBFUSCATED, true);
+                break;
+            case BOLD:
+                builder.decoration(TextDecoration.BOLD, true);
+                break;
+            case STRIKETHROUGH:
+                builder.decoration(TextDecoration.STRIKETHROUGH, true);
+                break;
+            case UNDERLINE:
+                builder.decoration(TextDecoration.UNDERLINED, true);
+                break;
+            case ITALIC:
+                builder.decoration(TextDecoration.ITALIC, true);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void flush(@NotNull List<Part> parts, @NotNull StringBuilder text, @NotNull Style style) {
+        if (text.length() == 0)
+            return;
+        parts.add(new Part(text(text.toString(), style), null, style));
+        text.setLength(0);
+    }
+
+    private static @NotNull Component build(@NotNull MessageTemplate template, @NotNull Part[] parts, @Nullable String[] replacements,
+                                            @Nullable Map<String, ?> replacementMap) {
+        if (parts.length == 1 && parts[0].placeholder == null)
+            return parts[0].component;
+        final TextComponent.Builder builder = Component.text();
+        for (Part part : parts) {
+            if (part.placeholder == null) {
+                builder.append(part.component);
+            } else if (replacements != null) {
+                final int index = MessageTemplate.indexOf(replacements, part.placeholder);
+                builder.append(index < 0 ? missing(part) : value(template, replacements[index + 1], part.style));
+            } else if (replacementMap != null) {
+                final Object value = replacementMap.get(part.placeholder);
+                final boolean present = value != null || replacementMap.containsKey(part.placeholder);
+                builder.append(present ? value(template, value, part.style) : missing(part));
+            } else {
+                builder.append(missing(part));
+            }
+        }
+        return builder.build();
+    }
+
+    private static @NotNull Component value(@NotNull MessageTemplate template, @Nullable Object value, @NotNull Style style) {
+        return text(template.formatValue(Placeholders.valueOf(value)), style);
+    }
+
+    private static @NotNull Component missing(@NotNull Part part) {
+        return Component.text('%' + part.placeholder + '%', part.style);
+    }
+
+    private static final class Part {
+
+        private final Component component;
+        private final String placeholder;
+        private final Style style;
+
+        private Part(@Nullable Component component, @Nullable String placeholder, @NotNull Style style) {
+            this.component = component;
+            this.placeholder = placeholder;
+            this.style = style;
+        }
+    }
+}
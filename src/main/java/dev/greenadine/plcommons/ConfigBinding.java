@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import dev.greenadine.plcommons.annotation.ConfigPath;
+import dev.greenadine.plcommons.annotation.Range;
+import dev.greenadine.plcommons.exception.InvalidConfigValueException;
+import dev.greenadine.plcommons.exception.MissingConfigValueException;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The binding plan of a config class, containing precompiled accessors for all of its fields annotated with {@link ConfigPath}. Plans are
+ * built once per class and cached, so binding a configuration does not involve any reflection.
+ *
+ * @param <T> the type of the config class.
+ * @since 0.1
+ */
+final class ConfigBinding<T> {
+
+    private static final ClassValue<ConfigBinding<?>> BINDINGS = new ClassValue<ConfigBinding<?>>() {
+        @Override
+        protected ConfigBinding<?> computeValue(Class<?> type) {
+            return new ConfigBinding<>(type);
+        }
+    };
+
+    private static final MethodType OBJECT_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final FieldBinding[] fields;
+
+    private ConfigBinding(@NotNull Class<T> type) {
+        this.type = type;
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            final Constructor<T> ctor = type.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            this.constructor = lookup.unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalArgumentException("Config class " + type.getName() + " must declare a no-args constructor", ex);
+        }
+
+        final List<FieldBinding> fields = new ArrayList<>();
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                final ConfigPath configPath = field.getAnnotation(ConfigPath.class);
+                if (configPath == null)
+                    continue;
+                if (Modifier.isStatic(field.getModifiers()))
+                    throw new IllegalArgumentException("Config field " + field.getName() + " of " + type.getName() + " cannot be static");
+                fields.add(new FieldBinding(lookup, field, configPath, field.getAnnotation(Range.class)));
+            }
+        }
+        this.fields = fields.toArray(new FieldBinding[0]);
+    }
+
+    /**
+     * Gets the binding plan of the given config class, building it if it was not built yet.
+     *
+     * @param type the config class.
+     * @param <T>  the type of the config class.
+     * @return the binding plan.
+     * @throws IllegalArgumentException if the class is not a valid config class.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> @NotNull ConfigBinding<T> of(@NotNull Class<T> type) {
+        return (ConfigBinding<T>) BINDINGS.get(type);
+    }
+
+    /**
+     * Creates a new instance of the config class, bound to the values of the given snapshot.
+     *
+     * @param snapshot the snapshot.
+     * @return the new instance.
+     * @throws MissingConfigValueException if no value is set at the path of a required field.
+     * @throws InvalidConfigValueException if a value does not match the type or range of its field.
+     */
+    @NotNull T bind(@NotNull ConfigSnapshot snapshot) {
+        final Object instance;
+        try {
+            instance = constructor.invokeExact();
+        } catch (Throwable thrown) {
+            throw new IllegalStateException("Failed to instantiate config class " + type.getName(), thrown);
+        }
+        for (FieldBinding field : fields)
+            field.bind(instance, snapshot);
+        return type.cast(instance);
+    }
+
+    private enum Kind {
+        INT, LONG, DOUBLE, BOOLEAN, STRING, ENUM, LIST, OBJECT
+    }
+
+    private static final class FieldBinding {
+
+        private final String path;
+        private final boolean required;
+        private final Kind kind;
+        private final Class<?> fieldType;
+        private final boolean primitive;
+        private final MethodHandle setter;
+        private final double min;
+        private final double max;
+
+        private FieldBinding(@NotNull MethodHandles.Lookup lookup, @NotNull Field field, @NotNull ConfigPath configPath, @Nullable Range range) {
+            this.path = configPath.value();
+            this.required = configPath.required();
+            this.fieldType = field.getType();
+            this.primitive = fieldType.isPrimitive();
+            this.kind = kindOf(fieldType);
+            if (range != null && kind != Kind.INT && kind != Kind.LONG && kind != Kind.DOUBLE)
+                throw new IllegalArgumentException("@Range is only supported on numeric fields, not on field " + field.getName());
+            this.min = range != null ? range.min() : Double.NEGATIVE_INFINITY;
+            this.max = range != null ? range.max() : Double.POSITIVE_INFINITY;
+
+            try {
+                field.setAccessible(true);
+                final MethodHandle handle = lookup.unreflectSetter(field);
+                this.setter = primitive ? handle.asType(MethodType.methodType(void.class, Object.class, fieldType)) : handle.asType(OBJECT_SETTER);
+            } catch (IllegalAccessException ex) {
+                throw new IllegalArgumentException("Cannot access config field " + field.getName(), ex);
+            }
+        }
+
+        private static @NotNull Kind kindOf(@NotNull Class<?> type) {
+            if (type == int.class || type == Integer.class)
+                return Kind.INT;
+            if (type == long.class || type == Long.class)
+                return Kind.LONG;
+            if (type == double.class || type == Double.class)
+                return Kind.DOUBLE;
+            if (type == boolean.class || type == Boolean.class)
+                return Kind.BOOLEAN;
+            if (type == String.class)
+                return Kind.STRING;
+            if (type.isEnum())
+                return Kind.ENUM;
+            if (type == List.class || type == Collection.class)
+                return Kind.LIST;
+            if (type.isPrimitive())
+                throw new IllegalArgumentException("Unsupported primitive config field type " + type.getName());
+            return Kind.OBJECT;
+        }
+
+        private void bind(@NotNull Object instance, @NotNull ConfigSnapshot snapshot) {
+            ConfigSnapshot.Entry entry = snapshot.getEntry(path);
+            if (entry == null)
+                entry = snapshot.getDefaultEntry(path);
+            if (entry == null) {
+                if (required)
+                    throw new MissingConfigValueException(path);
+                return;
+            }
+
+            try {
+                switch (kind) {
+                    case INT:
+                        checkRange(entry);
+                        if (entry.longValue != entry.intValue)
+                            throw new InvalidConfigValueException(path, "must be between " + Integer.MIN_VALUE + " and " + Integer.MAX_VALUE);
+                        if (primitive) setter.invokeExact(instance, entry.intValue);
+                        else setter.invokeExact(instance, (Object) entry.intValue);
+                        break;
+                    case LONG:
+                        checkRange(entry);
+                        if (primitive) setter.invokeExact(instance, entry.longValue);
+                        else setter.invokeExact(instance, (Object) entry.longValue);
+                        break;
+                    case DOUBLE:
+                        checkRange(entry);
+                        if (primitive) setter.invokeExact(instance, entry.doubleValue);
+                        else setter.invokeExact(instance, (Object) entry.doubleValue);
+                        break;
+                    case BOOLEAN:
+                        if (!(entry.value instanceof Boolean))
+                            throw new InvalidConfigValueException(path, "expected a boolean");
+                        if (primitive) setter.invokeExact(instance, ((Boolean) entry.value).booleanValue());
+                        else setter.invokeExact(instance, entry.value);
+                        break;
+                    case STRING:
+                        if (entry.value instanceof ConfigurationSection || entry.value instanceof List)
+                            throw new InvalidConfigValueException(path, "expected a string");
+                        setter.invokeExact(instance, (Object) entry.asString());
+                        break;
+                    case ENUM:
+                        setter.invokeExact(instance, (Object) parseEnum(entry));
+                        break;
+                    case LIST:
+                        if (!(entry.value instanceof List))
+                            throw new InvalidConfigValueException(path, "expected a list");
+                        setter.invokeExact(instance, (Object) Collections.unmodifiableList(new ArrayList<>((List<?>) entry.value)));
+                        break;
+                    default:
+                        if (!fieldType.isInstance(entry.value))
+                            throw new InvalidConfigValueException(path, "expected a value of type " + fieldType.getSimpleName());
+                        setter.invokeExact(instance, entry.value);
+                        break;
+                }
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Throwable thrown) {
+                throw new IllegalStateException("Failed to set config field for path '" + path + "'", thrown);
+            }
+        }
+
+        private void checkRange(@NotNull ConfigSnapshot.Entry entry) {
+            if (!entry.number)
+                throw new InvalidConfigValueException(path, "expected a number");
+            if (entry.doubleValue < min || entry.doubleValue > max)
+                throw new InvalidConfigValueException(path, "must be between " + min + " and " + max);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private @NotNull Enum<?> parseEnum(@NotNull ConfigSnapshot.Entry entry) {
+            final String name = entry.asString();
+            try {
+                return Enum.valueOf((Class<? extends Enum>) fieldType, name);
+            } catch (IllegalArgumentException ex) {
+                try {
+                    return Enum.valueOf((Class<? extends Enum>) fieldType, name.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException ex2) {
+                    throw new InvalidConfigValueException(path, "unknown " + fieldType.getSimpleName() + " '" + name + "'");
+                }
+            }
+        }
+    }
+}
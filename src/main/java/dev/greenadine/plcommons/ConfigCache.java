@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A binary cache of parsed configuration files, which can be loaded considerably faster than parsing the YAML source again.
+ * <p>
+ * A cache file stores the size and SHA-256 hash of the source it was created from, and is only used if both still match. Along with the
+ * values, it stores the header, footer and comments of the configuration, so that a configuration loaded from the cache is saved with
+ * them intact. Only configurations consisting of plain values (strings, numbers, booleans, lists, maps and sections) can be cached;
+ * configurations containing serialized objects are always parsed from YAML.
+ * </p>
+ *
+ * @since 0.1
+ */
+final class ConfigCache {
+
+    private ConfigCache() {
+    }
+
+    private static final int MAGIC = 0x504C4343;  // "PLCC"
+    private static final int VERSION = 2;
+
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_FLOAT = 5;
+    private static final byte TAG_BOOLEAN = 6;
+    private static final byte TAG_BIG_INTEGER = 7;
+    private static final byte TAG_LIST = 8;
+    private static final byte TAG_MAP = 9;
+    private static final byte TAG_SECTION = 10;
+
+    /**
+     * The result of loading a configuration from its cache.
+     */
+    static final class Result {
+
+        final YamlConfiguration config;
+        final long loadNanos;
+        final long parseNanos;
+
+        private Result(@NotNull YamlConfiguration config, long loadNanos, long parseNanos) {
+            this.config = config;
+            this.loadNanos = loadNanos;
+            this.parseNanos = parseNanos;
+        }
+    }
+
+    /**
+     * Gets the cache file for the given source file, located in the {@code .cache} directory of the plugin's data folder.
+     *
+     * @param source the source file.
+     * @return the cache file.
+     */
+    static @NotNull File getCacheFile(@NotNull File source) {
+        final File dataFolder = PLCommons.getPlugin().getDataFolder();
+        String name;
+        try {
+            name = dataFolder.getCanonicalFile().toPath().relativize(source.getCanonicalFile().toPath()).toString();
+        } catch (IOException | IllegalArgumentException ex) {
+            name = source.getName();
+        }
+        return new File(new File(dataFolder, ".cache"), name.replace(File.separatorChar, '_') + ".bin");
+    }
+
+    /**
+     * Loads the configuration from the cache file, if it is up to date with the given source.
+     *
+     * @param source the contents of the source file.
+     * @param cache  the cache file.
+     * @return the loaded configuration, or {@code null} if there is no up-to-date cache.
+     */
+    static @Nullable Result read(@NotNull byte[] source, @NotNull File cache) {
+        if (!cache.isFile())
+            return null;
+        final long start = System.nanoTime();
+        // Read fully, so that available() bounds every length read from the file and a corrupt cache cannot cause huge allocations
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(cache.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                return null;
+            if (in.readLong() != source.length)
+                return null;
+            final byte[] hash = new byte[in.readUnsignedByte()];
+            in.readFully(hash);
+            if (!MessageDigest.isEqual(hash, hash(source)))
+                return null;
+            final long parseNanos = in.readLong();
+
+            final YamlConfiguration config = new YamlConfiguration();
+            config.options().setHeader(readComments(in)).setFooter(readComments(in));
+            if (in.readByte() != TAG_SECTION)
+                return null;
+            readSection(in, config);
+            return new Result(config, System.nanoTime() - start, parseNanos);
+        } catch (IOException | RuntimeException ex) {
+            DebugLogger.warn("Failed to read config cache '" + cache.getName() + "', parsing source instead", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the configuration to the cache file. If the configuration contains values that cannot be cached, no cache is written.
+     *
+     * @param name       the name of the source file, used in log messages.
+     * @param source     the exact contents of the source file the configuration was parsed from.
+     * @param cache      the cache file.
+     * @param config     the parsed configuration.
+     * @param parseNanos the time it took to parse the source file, in nanoseconds.
+     */
+    static void write(@NotNull String name, @NotNull byte[] source, @NotNull File cache, @NotNull YamlConfiguration config,
+                      long parseNanos) {
+        final File parent = cache.getParentFile();
+        final File temp = new File(parent, cache.getName() + ".tmp");
+        try {
+            Files.createDirectories(parent.toPath());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+                final byte[] hash = hash(source);
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(source.length);
+                out.writeByte(hash.length);
+                out.write(hash);
+                out.writeLong(parseNanos);
+                writeComments(out, config.options().getHeader());
+                writeComments(out, config.options().getFooter());
+                writeValue(out, config);
+            }
+            try {
+                Files.move(temp.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | UnsupportedOperationException ex) {
+            DebugLogger.info("Not caching config '" + name + "': " + ex.getMessage());
+            temp.delete();
+        }
+    }
+
+    private static byte[] hash(@NotNull byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);  // Every JVM is required to support SHA-256
+        }
+    }
+
+    /* Reading */
+
+    private static void readSection(@NotNull DataInputStream in, @NotNull ConfigurationSection section) throws IOException {
+        final int size = readLength(in);
+        for (int i = 0; i < size; i++) {
+            final String key = readString(in);
+            final List<String> comments = readComments(in);
+            final List<String> inlineComments = readComments(in);
+            final byte tag = in.readByte();
+            if (tag == TAG_SECTION)
+                readSection(in, section.createSection(key));
+            else
+                section.set(key, readValue(in, tag));
+            section.setComments(key, comments);
+            section.setInlineComments(key, inlineComments);
+        }
+    }
+
+    private static @NotNull List<String> readComments(@NotNull DataInputStream in) throws IOException {
+        final int size = readLength(in);
+        final List<String> comments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            comments.add(in.readBoolean() ? readString(in) : null);  // Null marks an empty line
+        return comments;
+    }
+
+    private static @NotNull Object readValue(@NotNull DataInputStream in, byte tag) throws IOException {
+        switch (tag) {
+            case TAG_STRING:
+                return readString(in);
+            case TAG_INT:
+                return in.readInt();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_FLOAT:
+                return in.readFloat();
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_BIG_INTEGER:
+                return new BigInteger(readString(in));
+            case TAG_LIST: {
+                final int size = readLength(in);
+                final List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    list.add(readValue(in, in.readByte()));
+                return list;
+            }
+            case TAG_MAP: {
+                final int size = readLength(in);
+                final Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    final Object key = readValue(in, in.readByte());
+                    map.put(key, readValue(in, in.readByte()));
+                }
+                return map;
+            }
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    private static @NotNull String readString(@NotNull DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a length or element count. As every byte or element takes at least one byte, it can never exceed the remaining data.
+     *
+     * @param in the input, reading from memory.
+     * @return the length.
+     * @throws IOException if the length is negative or larger than the remaining data.
+     */
+    private static int readLength(@NotNull DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0 || length > in.available())
+            throw new IOException("Invalid length " + length);
+        return length;
+    }
+
+    /* Writing */
+
+    private static void writeValue(@NotNull DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value instanceof ConfigurationSection) {
+            final ConfigurationSection section = (ConfigurationSection) value;
+            final Map<String, Object> values = section.getValues(false);
+            out.writeByte(TAG_SECTION);
+            out.writeInt(values.size());
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                writeString(out, entry.getKey());
+                writeComments(out, section.getComments(entry.getKey()));
+                writeComments(out, section.getInlineComments(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TAG_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof BigInteger) {
+            out.writeByte(TAG_BIG_INTEGER);
+            writeString(out, value.toString());
+        } else if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object element : list)
+                writeValue(out, element);
+        } else if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(TAG_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            throw new UnsupportedOperationException("unsupported value type " + (value != null ? value.getClass().getName() : "null"));
+        }
+    }
+
+    private static void writeComments(@NotNull DataOutputStream out, @NotNull List<String> comments) throws IOException {
+        out.writeInt(comments.size());
+        for (String comment : comments) {
+            out.writeBoolean(comment != null);
+            if (comment != null)
+                writeString(out, comment);
+        }
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @NotNull String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The changes to a {@link PLCConfig} that match a subscription made through {@link PLCConfig#onChange(String, java.util.function.Consumer)}.
+ * <p>
+ * The changed paths are reported at the level of the subscription's pattern: a subscription to {@code arenas.*} reports
+ * {@code arenas.castle} if any value within that arena changed. The old and new values of these paths are taken from the configuration
+ * before and after the reload, and are {@code null} if the path was added or removed respectively.
+ * </p>
+ *
+ * @since 0.1
+ */
+public final class ConfigChange {
+
+    private final String pattern;
+    private final Set<String> paths;
+    private final ConfigSnapshot previous;
+    private final ConfigSnapshot next;
+
+    ConfigChange(@NotNull String pattern, @NotNull Set<String> paths, @NotNull ConfigSnapshot previous, @NotNull ConfigSnapshot next) {
+        this.pattern = pattern;
+        this.paths = Collections.unmodifiableSet(paths);
+        this.previous = previous;
+        this.next = next;
+    }
+
+    /**
+     * Gets the pattern of the subscription.
+     *
+     * @return the pattern.
+     */
+    public @NotNull String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the changed paths that match the pattern of the subscription.
+     *
+     * @return the changed paths, in the order of the configuration.
+     */
+    public @NotNull Set<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Gets the value at the given path before the reload.
+     *
+     * @param path the path.
+     * @return the old value, or {@code null} if no value was set.
+     */
+    public @Nullable Object getOldValue(@NotNull String path) {
+        final ConfigSnapshot.Entry entry = previous.getEntry(path);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Gets the value at the given path after the reload.
+     *
+     * @param path the path.
+     * @return the new value, or {@code null} if the value was removed.
+     */
+    public @Nullable Object getNewValue(@NotNull String path) {
+        final ConfigSnapshot.Entry entry = next.getEntry(path);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Checks whether a value was set at the given path before the reload, but not after.
+     *
+     * @param path the path.
+     * @return {@code true} if the value was removed, {@code false} otherwise.
+     */
+    public boolean isRemoved(@NotNull String path) {
+        return previous.isSet(path) && !next.isSet(path);
+    }
+
+    /**
+     * Checks whether a value is set at the given path after the reload, but was not before.
+     *
+     * @param path the path.
+     * @return {@code true} if the value was added, {@code false} otherwise.
+     */
+    public boolean isAdded(@NotNull String path) {
+        return !previous.isSet(path) && next.isSet(path);
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigChange{pattern='" + pattern + "', paths=" + paths + "}";
+    }
+}
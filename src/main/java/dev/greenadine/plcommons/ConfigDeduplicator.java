@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deduplicates the values of loaded configurations through shared pools, so that strings and lists that are repeated many times, such as
+ * material names, world names and lore lines, are kept in memory once.
+ * <p>
+ * The pools hold their values weakly, so values are released once no configuration uses them anymore. Strings are replaced in place,
+ * which is invisible to code using the configuration. Lists of scalar values are only shared for configurations owned by PLCommons, as the
+ * shared lists are unmodifiable.
+ * </p>
+ *
+ * @since 0.1
+ */
+final class ConfigDeduplicator {
+
+    private static final Interner<String> STRINGS = Interners.newWeakInterner();
+    private static final Interner<List<?>> LISTS = Interners.newWeakInterner();
+
+    private int strings;
+    private int deduplicatedStrings;
+    private int sharedLists;
+    private long bytesBefore;
+    private long bytesSaved;
+
+    private ConfigDeduplicator() {
+    }
+
+    /**
+     * Gets the shared instance of the given string.
+     *
+     * @param string the string.
+     * @return the shared instance.
+     */
+    static @NotNull String intern(@NotNull String string) {
+        return STRINGS.intern(string);
+    }
+
+    /**
+     * Deduplicates the values of the given configuration in place, and logs the estimated memory saved as debug information.
+     *
+     * @param name        the name of the configuration, used for logging.
+     * @param config      the configuration.
+     * @param shareLists  {@code true} to replace lists of scalar values with shared unmodifiable lists, {@code false} to only deduplicate
+     *                    their elements.
+     */
+    static void deduplicate(@NotNull String name, @NotNull ConfigurationSection config, boolean shareLists) {
+        final long start = System.nanoTime();
+        final ConfigDeduplicator deduplicator = new ConfigDeduplicator();
+        deduplicator.deduplicateSection(config, shareLists);
+        DebugLogger.info(String.format("Deduplicated %d of %d strings and shared %d lists of '%s' in %.1f ms, estimated string heap "
+                        + "%.1f KB -> %.1f KB", deduplicator.deduplicatedStrings, deduplicator.strings, deduplicator.sharedLists, name,
+                (System.nanoTime() - start) / 1_000_000D, deduplicator.bytesBefore / 1024D,
+                (deduplicator.bytesBefore - deduplicator.bytesSaved) / 1024D));
+    }
+
+    private void deduplicateSection(@NotNull ConfigurationSection section, boolean shareLists) {
+        for (String key : section.getKeys(false)) {
+            final Object value = section.get(key, null);  // Does not fall back to defaults, which belong to another configuration
+            if (value instanceof ConfigurationSection) {
+                deduplicateSection((ConfigurationSection) value, shareLists);
+                continue;
+            }
+            final Object deduplicated = deduplicate(value, shareLists);
+            if (deduplicated != value)
+                section.set(key, deduplicated);
+        }
+    }
+
+    /**
+     * Deduplicates the given value, deduplicating the elements of lists and maps in place.
+     *
+     * @param value      the value.
+     * @param shareLists whether to share lists of scalar values.
+     * @return the shared instance of the value, or the value itself.
+     */
+    private @Nullable Object deduplicate(@Nullable Object value, boolean shareLists) {
+        if (value instanceof String)
+            return deduplicateString((String) value);
+        if (value instanceof List)
+            return deduplicateList((List<?>) value, shareLists);
+        if (value instanceof Map) {
+            //noinspection unchecked
+            for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) value).entrySet()) {
+                final Object deduplicated = deduplicate(entry.getValue(), shareLists);
+                if (deduplicated != entry.getValue())
+                    entry.setValue(deduplicated);
+            }
+        }
+        return value;
+    }
+
+    private @NotNull String deduplicateString(@NotNull String value) {
+        final long size = estimateSize(value);
+        strings++;
+        bytesBefore += size;
+        final String shared = STRINGS.intern(value);
+        if (shared != value) {
+            deduplicatedStrings++;
+            bytesSaved += size;
+        }
+        return shared;
+    }
+
+    private @NotNull List<?> deduplicateList(@NotNull List<?> list, boolean shareLists) {
+        boolean scalar = true;
+        //noinspection unchecked
+        final List<Object> elements = (List<Object>) list;
+        for (int i = 0; i < elements.size(); i++) {
+            final Object element = elements.get(i);
+            final Object deduplicated = deduplicate(element, shareLists);
+            if (deduplicated != element) {
+                try {
+                    elements.set(i, deduplicated);
+                } catch (UnsupportedOperationException ex) {
+                    return list;  // Already shared or otherwise unmodifiable
+                }
+            }
+            scalar &= element == null || element instanceof String || element instanceof Number || element instanceof Boolean;
+        }
+        if (!shareLists || !scalar || list.isEmpty())
+            return list;
+        final List<?> candidate = Collections.unmodifiableList(new ArrayList<>(list));
+        final List<?> shared = LISTS.intern(candidate);
+        if (shared != candidate)
+            sharedLists++;
+        return shared;
+    }
+
+    /**
+     * Estimates the heap size of the given string, assuming compressed references and one byte per character as used by compact strings.
+     *
+     * @param value the string.
+     * @return the estimated size in bytes.
+     */
+    private static long estimateSize(@NotNull String value) {
+        return 24L + ((16L + value.length() + 7L) & ~7L);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Logger;
+
+/**
+ * Migrates an outdated configuration file to the latest version, one version at a time.
+ * <p>
+ * The version of the file is stored at a path within the file, {@code config-version} by default; files without a version are considered
+ * to be at version 1. Each step migrates the configuration from a version to the next, and all steps needed are applied in order before
+ * the upgraded file is written once. The original file is kept as a backup. Migrations are usually started from
+ * {@link PLCommonsPlugin#migrateConfig(ConfigMigrator)} while the plugin is loading, so they run off the main thread.
+ * </p>
+ * <pre>{@code
+ * ConfigMigrator migrator = ConfigMigrator.forFile(new File(getDataFolder(), "config.yml"), 3)
+ *         .addStep(1, config -> config.set("arena.max-players", config.get("max-players")))
+ *         .addStep(2, config -> config.set("rewards", null));
+ * }</pre>
+ *
+ * @since 0.1
+ */
+public final class ConfigMigrator {
+
+    private static final String DEFAULT_VERSION_PATH = "config-version";
+
+    private final File file;
+    private final int latestVersion;
+    private final Map<Integer, Step> steps = new TreeMap<>();
+    private String versionPath = DEFAULT_VERSION_PATH;
+
+    private ConfigMigrator(@NotNull File file, int latestVersion) {
+        this.file = file;
+        this.latestVersion = latestVersion;
+    }
+
+    /**
+     * Creates a new migrator for the given configuration file.
+     *
+     * @param file          the configuration file.
+     * @param latestVersion the latest version of the configuration.
+     * @return the migrator.
+     */
+    public static @NotNull ConfigMigrator forFile(@NotNull File file, int latestVersion) {
+        Preconditions.checkArgument(latestVersion >= 1, "Latest version must be at least 1");
+        return new ConfigMigrator(file, latestVersion);
+    }
+
+    /**
+     * Sets the path at which the version of the configuration is stored. Defaults to {@code config-version}.
+     *
+     * @param versionPath the path.
+     * @return this migrator.
+     */
+    public @NotNull ConfigMigrator setVersionPath(@NotNull String versionPath) {
+        this.versionPath = versionPath;
+        return this;
+    }
+
+    /**
+     * Adds a step that migrates the configuration from the given version to the next version.
+     *
+     * @param fromVersion the version the step migrates from.
+     * @param step        the step.
+     * @return this migrator.
+     * @throws IllegalArgumentException if the version is out of range, or a step was already added for it.
+     */
+    public @NotNull ConfigMigrator addStep(int fromVersion, @NotNull Step step) {
+        Preconditions.checkArgument(fromVersion >= 1 && fromVersion < latestVersion, "Version must be between 1 and %s", latestVersion - 1);
+        Preconditions.checkArgument(!steps.containsKey(fromVersion), "Step from version %s already added", fromVersion);
+        steps.put(fromVersion, step);
+        return this;
+    }
+
+    /**
+     * Migrates the configuration file on a new thread.
+     *
+     * @param logger the logger to report the migration to.
+     * @return a future that completes with the version the file was at before migrating, once the upgraded file has been written.
+     */
+    public @NotNull CompletableFuture<Integer> migrateAsync(@NotNull Logger logger) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return migrate(logger);
+            } catch (IOException | InvalidConfigurationException ex) {
+                throw new CompletionException(ex);
+            }
+        }, runnable -> {
+            final Thread thread = new Thread(runnable, "PLCommons Config Migration");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * Migrates the configuration file on the calling thread. Does nothing if the file does not exist or is already at the latest version.
+     *
+     * @param logger the logger to report the migration to.
+     * @return the version the file was at before migrating.
+     * @throws IOException                   if the file could not be read or written.
+     * @throws InvalidConfigurationException if the file does not contain a valid configuration.
+     * @throws IllegalStateException         if a step is missing or failed.
+     */
+    public int migrate(@NotNull Logger logger) throws IOException, InvalidConfigurationException {
+        if (!file.isFile())
+            return latestVersion;
+        final YamlConfiguration config = new YamlConfiguration();
+        config.load(file);
+        final int version = config.getInt(versionPath, 1);
+        if (version > latestVersion) {
+            logger.warning("Configuration file '" + file.getName() + "' is at version " + version + ", which is newer than the latest "
+                    + "supported version " + latestVersion);
+            return version;
+        }
+        if (version == latestVersion)
+            return version;
+
+        final long start = System.nanoTime();
+        for (int current = version; current < latestVersion; current++) {
+            final Step step = steps.get(current);
+            if (step == null)
+                throw new IllegalStateException("No migration of '" + file.getName() + "' from version " + current + " to " + (current + 1));
+            try {
+                step.migrate(config);
+            } catch (Exception ex) {
+                throw new IllegalStateException("Failed to migrate '" + file.getName() + "' from version " + current + " to " + (current + 1), ex);
+            }
+            config.set(versionPath, current + 1);
+        }
+        write(config.saveToString(), version);
+        logger.info("Migrated configuration file '" + file.getName() + "' from version " + version + " to " + latestVersion + " in "
+                + (System.nanoTime() - start) / 1_000_000L + " ms");
+        return version;
+    }
+
+    /**
+     * Writes the migrated configuration, keeping the original file as a backup.
+     *
+     * @param data        the migrated configuration.
+     * @param fromVersion the version of the original file.
+     * @throws IOException if the file could not be written.
+     */
+    private void write(@NotNull String data, int fromVersion) throws IOException {
+        final Path target = file.toPath();
+        Files.copy(target, target.resolveSibling(file.getName() + ".v" + fromVersion + ".bak"), StandardCopyOption.REPLACE_EXISTING);
+        ConfigFiles.writeAtomically(file, data);
+    }
+
+    /**
+     * A step that migrates a configuration from one version to the next.
+     */
+    @FunctionalInterface
+    public interface Step {
+
+        /**
+         * Migrates the given configuration to the next version, modifying it in place.
+         *
+         * @param config the configuration.
+         * @throws Exception if the configuration could not be migrated.
+         */
+        void migrate(@NotNull ConfigurationSection config) throws Exception;
+    }
+}
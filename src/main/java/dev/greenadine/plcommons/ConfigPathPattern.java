@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A glob pattern over configuration paths. Within the pattern, {@code *} matches any part of a single path segment, and a {@code **}
+ * segment matches any number of segments. A path matches the pattern if the path itself or one of its parent sections matches it, so
+ * {@code arenas.*} matches {@code arenas.castle.spawn.x} through its parent section {@code arenas.castle}.
+ *
+ * @since 0.1
+ */
+final class ConfigPathPattern {
+
+    private static final String ANY_SEGMENTS = "**";
+
+    private final String glob;
+    private final String[] segments;
+    private final char separator;
+
+    private ConfigPathPattern(@NotNull String glob, char separator) {
+        this.glob = glob;
+        this.segments = split(glob, separator);
+        this.separator = separator;
+    }
+
+    /**
+     * Compiles the given glob.
+     *
+     * @param glob      the glob.
+     * @param separator the path separator.
+     * @return the pattern.
+     */
+    static @NotNull ConfigPathPattern compile(@NotNull String glob, char separator) {
+        return new ConfigPathPattern(glob, separator);
+    }
+
+    /**
+     * Matches the given path against this pattern.
+     *
+     * @param path the path.
+     * @return the shortest part of the path that matches this pattern, being the path itself or the path of one of its parent sections, or
+     * {@code null} if the path does not match.
+     */
+    @Nullable String match(@NotNull String path) {
+        final String[] pathSegments = split(path, separator);
+        for (int length = 1; length <= pathSegments.length; length++) {
+            if (matches(0, pathSegments, 0, length)) {
+                if (length == pathSegments.length)
+                    return path;
+                int end = -1;
+                for (int i = 0; i < length; i++)
+                    end = path.indexOf(separator, end + 1);
+                return path.substring(0, end);
+            }
+        }
+        return null;
+    }
+
+    private boolean matches(int patternIndex, @NotNull String[] path, int pathIndex, int pathEnd) {
+        if (patternIndex == segments.length)
+            return pathIndex == pathEnd;
+        if (segments[patternIndex].equals(ANY_SEGMENTS)) {
+            for (int next = pathIndex; next <= pathEnd; next++)
+                if (matches(patternIndex + 1, path, next, pathEnd))
+                    return true;
+            return false;
+        }
+        return pathIndex < pathEnd && segmentMatches(segments[patternIndex], path[pathIndex])
+                && matches(patternIndex + 1, path, pathIndex + 1, pathEnd);
+    }
+
+    /**
+     * Matches a single segment against a pattern segment, in which {@code *} matches any sequence of characters.
+     *
+     * @param pattern the pattern segment.
+     * @param segment the segment.
+     * @return {@code true} if the segment matches, {@code false} otherwise.
+     */
+    private static boolean segmentMatches(@NotNull String pattern, @NotNull String segment) {
+        int p = 0, s = 0, star = -1, mark = 0;
+        while (s < segment.length()) {
+            if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                mark = s;
+            } else if (p < pattern.length() && pattern.charAt(p) == segment.charAt(s)) {
+                p++;
+                s++;
+            } else if (star >= 0) {
+                p = star + 1;
+                s = ++mark;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*')
+            p++;
+        return p == pattern.length();
+    }
+
+    private static @NotNull String[] split(@NotNull String path, char separator) {
+        int count = 1;
+        for (int i = 0; i < path.length(); i++)
+            if (path.charAt(i) == separator)
+                count++;
+        final String[] parts = new String[count];
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int end = path.indexOf(separator, start);
+            if (end < 0)
+                end = path.length();
+            parts[i] = path.substring(start, end);
+            start = end + 1;
+        }
+        return parts;
+    }
+
+    @Override
+    public String toString() {
+        return glob;
+    }
+}
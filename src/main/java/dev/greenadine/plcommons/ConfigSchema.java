@@ -0,0 +1,384 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import dev.greenadine.plcommons.exception.ConfigValidationException;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A declarative schema for a configuration, describing the type and the constraints of the values at each path.
+ * <p>
+ * The schema is validated against the whole configuration in a single pass by {@link PLCConfig#validate(ConfigSchema)}, reporting every
+ * error at once instead of failing on the first access of an invalid value. Values that passed validation are trusted afterwards: a
+ * condition passed to the getters of {@link PLCConfig} is no longer tested for a path if it is one of the condition instances the
+ * schema validated that path against.
+ * </p>
+ * <pre>{@code
+ * ConfigSchema schema = ConfigSchema.create()
+ *         .requireInt("arena.max-players", ConfigValidators.intRange(2, 100))
+ *         .requireString("arena.world", Pattern.compile("[a-z0-9_]+"))
+ *         .optionalDouble("rewards.multiplier", ConfigValidators.POSITIVE_DOUBLE);
+ * }</pre>
+ *
+ * @since 0.1
+ */
+public final class ConfigSchema {
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    private ConfigSchema() {
+    }
+
+    /**
+     * Creates a new, empty schema.
+     *
+     * @return the schema.
+     */
+    public static @NotNull ConfigSchema create() {
+        return new ConfigSchema();
+    }
+
+    /**
+     * Requires a value to be set at the given path, regardless of its type.
+     *
+     * @param path the path.
+     * @return this schema.
+     */
+    public @NotNull ConfigSchema require(@NotNull String path) {
+        return add(path, true, Type.ANY, null, null);
+    }
+
+    /**
+     * Requires a value that meets the given condition to be set at the given path.
+     *
+     * @param path           the path.
+     * @param condition      the condition for the value.
+     * @param detailsMessage the details message to report if the condition is not met, can be {@code null}.
+     * @return this schema.
+     */
+    public @NotNull ConfigSchema require(@NotNull String path, @NotNull Predicate<Object> condition, @Nullable String detailsMessage) {
+        return add(path, true, Type.ANY, condition, detailsMessage);
+    }
+
+    /**
+     * Requires an integer to be set at the given path.
+     *
+     * @param path the path.
+     * @return this schema.
+     */
+    public @NotNull ConfigSchema requireInt(@NotNull String path) {
+        return add(path, true, Type.INT, null, null);
+    }
+
+    /**
+     * Requires an integer that meets the given condition to be set at the given path.
+     *
+     * @param path      the path.
+     * @param condition the condition for the value.
+     * @return this schema.
+     * @see ConfigValidators
+     */
+    public @NotNull ConfigSchema requireInt(@NotNull String path, @NotNull IntPredicate condition) {
+        return add(path, true, Type.INT, condition, null);
+    }
+
+    /**
+     * Validates the integer at the given path against the given condition, if a value is set.
+     *
+     * @param path      the path.
+     * @param condition the condition for the value.
+     * @return this schema.
+     * @see ConfigValidators
+     */
+    public @NotNull ConfigSchema optionalInt(@NotNull String path, @NotNull IntPredicate condition) {
+        return add(path, false, Type.INT, condition, null);
+    }
+
+    /**
+     * Requires a long to be set at the given path.
+     *
+     * @param path the path.
+     * @return this schema.
+     */
+    public @NotNull ConfigSchema requireLong(@NotNull String path) {
+        return add(path, true, Type.LONG, null, null);
+    }
+
+    /**
+     * Requires a long that meets the given condition to be set at the given path.
+     *
+     * @param path      the path.
+     * @param condition the condition for the value.
+     * @return this schema.
+     * @see ConfigValidators
+     */
+    public @NotNull ConfigSchema requireLong(@NotNull String path, @NotNull LongPredicate condition) {
+        return add(path, true, Type.LONG, condition, null);
+    }
+
+    /**
+     * Validates the long at the given path against the given condition, if a value is set.
+     *
+     * @param path      the path.
+     * @param condition the condition for the value.
+     * @return this schema.
+     * @see ConfigValidators
+     */
+    public @NotNull ConfigSchema optionalLong(@NotNull String path, @NotNull LongPredicate condition) {
+        return add(path, false, Type.LONG, condition, null);
+    }
+
+    /**
+     * Requires a number to be set at the given path.
+     *
+     * @param path the path.
+     * @return this schema.
+     */
+    public @NotNull ConfigSchema requireDouble(@NotNull String path) {
+        return add(path, true, Type.DOUBLE, null, null);
+    }
+
+    /**
+     * Requires a number that meets the given condition to be set at the given path.
+     *
+     * @param path      the path.
+     * @param condition the condition for the value.
+     * @return this schema.
+     * @see ConfigValidators
+     */
+    public @NotNull ConfigSchema requireDouble(@NotNull String path, @NotNull DoublePredicate condition) {
+        return add(path, true, Type.DOUBLE, condition, null);
+    }
+
+    /**
+     * Validates the number at the given path against the given condition, if a value is set.
+     *
+     * @param path      the path.
+     * @param condition the condition for the value.
+     * @return this schema.
+     * @see ConfigValidators
+     */
+    public @NotNull ConfigSchema optionalDouble(@NotNull String path, @NotNull DoublePredicate condition) {
+        return add(path, false, Type.DOUBLE, condition, null);
+    }
+
+    /**
+     * Requires a boolean to be set at the given path.
+     *
+     * @param path the path.
+     * @return this schema.
+     */
+    public @NotNull ConfigSchema requireBoolean(@NotNull String path) {
+        return add(path, true, Type.BOOLEAN, null, null);
+    }
+
+    /**
+     * Requires a string to be set at the given path.
+     *
+     * @param path the path.
+     * @return this schema.
+     */
+    public @NotNull ConfigSchema requireString(@NotNull String path) {
+        return add(path, true, Type.STRING, null, null);
+    }
+
+    /**
+     * Requires a string that fully matches the given pattern to be set at the given path.
+     *
+     * @param path    the path.
+     * @param pattern the pattern the value must match.
+     * @return this schema.
+     */
+    public @NotNull ConfigSchema requireString(@NotNull String path, @NotNull Pattern pattern) {
+        return add(path, true, Type.STRING, pattern, "must match '" + pattern.pattern() + "'");
+    }
+
+    /**
+     * Validates the string at the given path against the given pattern, if a value is set.
+     *
+     * @param path    the path.
+     * @param pattern the pattern the value must match.
+     * @return this schema.
+     */
+    public @NotNull ConfigSchema optionalString(@NotNull String path, @NotNull Pattern pattern) {
+        return add(path, false, Type.STRING, pattern, "must match '" + pattern.pattern() + "'");
+    }
+
+    /**
+     * Requires a list to be set at the given path.
+     *
+     * @param path the path.
+     * @return this schema.
+     */
+    public @NotNull ConfigSchema requireList(@NotNull String path) {
+        return add(path, true, Type.LIST, null, null);
+    }
+
+    /**
+     * Requires a section to be set at the given path.
+     *
+     * @param path the path.
+     * @return this schema.
+     */
+    public @NotNull ConfigSchema requireSection(@NotNull String path) {
+        return add(path, true, Type.SECTION, null, null);
+    }
+
+    private @NotNull ConfigSchema add(@NotNull String path, boolean required, @NotNull Type type, @Nullable Object condition,
+                                      @Nullable String detailsMessage) {
+        rules.add(new Rule(path, required, type, condition, detailsMessage));
+        return this;
+    }
+
+    /**
+     * Validates the given snapshot against this schema, collecting all errors.
+     *
+     * @param snapshot the snapshot to validate.
+     * @param fileName the name of the configuration file, used in the error message.
+     * @return a snapshot of the same values in which all values validated against a condition are marked as such.
+     * @throws ConfigValidationException if the snapshot does not match this schema.
+     */
+    @NotNull ConfigSnapshot validate(@NotNull ConfigSnapshot snapshot, @NotNull String fileName) {
+        final List<String> errors = new ArrayList<>();
+        final Map<String, List<Object>> validated = new HashMap<>();
+        for (Rule rule : rules) {
+            final Object value = snapshot.get(rule.path);
+            if (value == null) {
+                if (rule.required)
+                    errors.add("Missing value at path '" + rule.path + "'");
+                continue;
+            }
+            final String error = rule.check(value);
+            if (error != null)
+                errors.add("Invalid value at path '" + rule.path + "': " + error);
+            else if (rule.condition != null)
+                validated.computeIfAbsent(rule.path, k -> new ArrayList<>(1)).add(rule.condition);
+        }
+        if (!errors.isEmpty())
+            throw new ConfigValidationException(fileName, errors);
+        return snapshot.withValidated(validated);
+    }
+
+    private enum Type {
+        ANY("a value"),
+        INT("an integer"),
+        LONG("a long"),
+        DOUBLE("a number"),
+        BOOLEAN("a boolean"),
+        STRING("a string"),
+        LIST("a list"),
+        SECTION("a section");
+
+        private final String description;
+
+        Type(@NotNull String description) {
+            this.description = description;
+        }
+    }
+
+    private static final class Rule {
+
+        private final String path;
+        private final boolean required;
+        private final Type type;
+        private final Object condition;
+        private final String detailsMessage;
+
+        private Rule(@NotNull String path, boolean required, @NotNull Type type, @Nullable Object condition, @Nullable String detailsMessage) {
+            this.path = path;
+            this.required = required;
+            this.type = type;
+            this.condition = condition;
+            this.detailsMessage = detailsMessage != null ? detailsMessage : condition != null ? ConfigValidators.describe(condition) : null;
+        }
+
+        /**
+         * Checks the given value against this rule.
+         *
+         * @param value the value.
+         * @return the error, or {@code null} if the value is valid.
+         */
+        @SuppressWarnings("unchecked")
+        private @Nullable String check(@NotNull Object value) {
+            final boolean valid;
+            switch (type) {
+                case INT:
+                    if (!(value instanceof Integer || value instanceof Short || value instanceof Byte))
+                        return mismatch(value);
+                    valid = condition == null || ((IntPredicate) condition).test(((Number) value).intValue());
+                    break;
+                case LONG:
+                    if (!(value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte))
+                        return mismatch(value);
+                    valid = condition == null || ((LongPredicate) condition).test(((Number) value).longValue());
+                    break;
+                case DOUBLE:
+                    if (!(value instanceof Number))
+                        return mismatch(value);
+                    valid = condition == null || ((DoublePredicate) condition).test(((Number) value).doubleValue());
+                    break;
+                case BOOLEAN:
+                    if (!(value instanceof Boolean))
+                        return mismatch(value);
+                    valid = true;
+                    break;
+                case STRING:
+                    if (!(value instanceof String))
+                        return mismatch(value);
+                    valid = condition == null || ((Pattern) condition).matcher((String) value).matches();
+                    break;
+                case LIST:
+                    if (!(value instanceof List))
+                        return mismatch(value);
+                    valid = true;
+                    break;
+                case SECTION:
+                    if (!(value instanceof ConfigurationSection))
+                        return mismatch(value);
+                    valid = true;
+                    break;
+                default:
+                    valid = condition == null || ((Predicate<Object>) condition).test(value);
+            }
+            if (valid)
+                return null;
+            return "'" + value + "'" + (detailsMessage != null ? " " + detailsMessage : " does not meet the condition");
+        }
+
+        private @NotNull String mismatch(@NotNull Object value) {
+            return "expected " + type.description + ", found '" + value + "'";
+        }
+    }
+}
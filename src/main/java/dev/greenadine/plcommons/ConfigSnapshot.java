@@ -0,0 +1,386 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, flattened snapshot of a {@link Configuration}, mapping every full path directly to its value.
+ * <p>
+ * Lookups are a single hash map access instead of walking the {@link org.bukkit.configuration.MemorySection} tree and splitting the path
+ * on every call. Numeric values are converted once when the snapshot is compiled and are stored unboxed. The typed getters mirror the
+ * semantics of their {@link ConfigurationSection} counterparts, including the fallback to the configuration's defaults.
+ *
+ * @since 0.1
+ */
+final class ConfigSnapshot {
+
+    private final Map<String, Entry> values;
+    private final Map<String, Entry> defaults;
+    private final Map<String, Map<String, Entry>> children;
+    private final Map<String, Map<String, Entry>> defaultChildren;
+    private final char pathSeparator;
+
+    private ConfigSnapshot(@NotNull Map<String, Entry> values, @NotNull Map<String, Entry> defaults, char pathSeparator) {
+        this.values = values;
+        this.defaults = defaults;
+        this.children = index(values, pathSeparator);
+        this.defaultChildren = index(defaults, pathSeparator);
+        this.pathSeparator = pathSeparator;
+    }
+
+    /**
+     * Compiles a snapshot of the given configuration and its defaults.
+     *
+     * @param config the configuration.
+     * @return the snapshot.
+     */
+    static @NotNull ConfigSnapshot of(@NotNull Configuration config) {
+        final Configuration defaults = config.getDefaults();
+        return new ConfigSnapshot(flatten(config), defaults != null ? flatten(defaults) : Collections.emptyMap(), config.options().pathSeparator());
+    }
+
+    /**
+     * Flattens the given section into a map of full paths to entries.
+     *
+     * @param section the section to flatten.
+     * @return the flattened section.
+     */
+    private static @NotNull Map<String, Entry> flatten(@NotNull ConfigurationSection section) {
+        final Map<String, Object> raw = section.getValues(true);
+        final Map<String, Entry> flattened = new LinkedHashMap<>((int) (raw.size() / 0.75f) + 1);  // Keep the order of the file
+        for (Map.Entry<String, Object> entry : raw.entrySet())
+            flattened.put(entry.getKey(), new Entry(entry.getValue()));
+        return Collections.unmodifiableMap(flattened);
+    }
+
+    /**
+     * Indexes the given flattened entries by the path of their parent section, so the direct children of a section can be looked up by
+     * their key without building the full path.
+     *
+     * @param entries   the flattened entries.
+     * @param separator the path separator.
+     * @return the entries by their key, by the path of their parent section. The root section has an empty path.
+     */
+    private static @NotNull Map<String, Map<String, Entry>> index(@NotNull Map<String, Entry> entries, char separator) {
+        final Map<String, Map<String, Entry>> index = new HashMap<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            final String path = entry.getKey();
+            final int split = path.lastIndexOf(separator);
+            final String parent = split < 0 ? "" : path.substring(0, split);
+            index.computeIfAbsent(parent, k -> new LinkedHashMap<>()).put(path.substring(split + 1), entry.getValue());
+        }
+        for (Map.Entry<String, Map<String, Entry>> entry : index.entrySet())
+            entry.setValue(Collections.unmodifiableMap(entry.getValue()));
+        return index;
+    }
+
+    /**
+     * Computes the paths of all values that differ between this snapshot and the given one. Paths of sections are only included if the
+     * section itself was added or removed, changes within a section are reported through the paths of the changed values.
+     *
+     * @param other the snapshot to compare with.
+     * @return the changed paths.
+     */
+    @NotNull Set<String> diff(@NotNull ConfigSnapshot other) {
+        final Set<String> changed = new LinkedHashSet<>();
+        for (Map.Entry<String, Entry> entry : values.entrySet()) {
+            final Entry otherEntry = other.values.get(entry.getKey());
+            if (!entry.getValue().sameValue(otherEntry))
+                changed.add(entry.getKey());
+        }
+        for (String path : other.values.keySet())
+            if (!values.containsKey(path))
+                changed.add(path);
+        return changed;
+    }
+
+    /**
+     * Creates a snapshot of the same values, in which the values at the given paths are marked as validated against all the conditions
+     * they are mapped to.
+     *
+     * @param conditions the conditions the values at their paths were validated against.
+     * @return the new snapshot.
+     */
+    @NotNull ConfigSnapshot withValidated(@NotNull Map<String, List<Object>> conditions) {
+        final Map<String, Entry> marked = new LinkedHashMap<>(values);
+        for (Map.Entry<String, List<Object>> condition : conditions.entrySet()) {
+            final Entry entry = marked.get(condition.getKey());
+            if (entry != null)
+                marked.put(condition.getKey(), new Entry(entry, condition.getValue().toArray()));
+        }
+        return new ConfigSnapshot(Collections.unmodifiableMap(marked), defaults, pathSeparator);
+    }
+
+    /**
+     * Gets the path separator of the configuration the snapshot was compiled from.
+     *
+     * @return the path separator.
+     */
+    char getPathSeparator() {
+        return pathSeparator;
+    }
+
+    /* Raw access */
+
+    /**
+     * Gets the entry set at the given path, ignoring defaults.
+     *
+     * @param path the path.
+     * @return the entry, or {@code null} if no value is set at the path.
+     */
+    @Nullable Entry getEntry(@NotNull String path) {
+        return values.get(path);
+    }
+
+    /**
+     * Gets the default entry for the given path.
+     *
+     * @param path the path.
+     * @return the default entry, or {@code null} if there is no default for the path.
+     */
+    @Nullable Entry getDefaultEntry(@NotNull String path) {
+        return defaults.get(path);
+    }
+
+    /**
+     * Gets the entries directly within the section at the given path, by their key.
+     *
+     * @param sectionPath the path of the section, or an empty string for the root section.
+     * @return the entries, which is empty if there is no section at the path.
+     */
+    @NotNull Map<String, Entry> getChildren(@NotNull String sectionPath) {
+        return children.getOrDefault(sectionPath, Collections.emptyMap());
+    }
+
+    /**
+     * Gets the default entries directly within the section at the given path, by their key.
+     *
+     * @param sectionPath the path of the section, or an empty string for the root section.
+     * @return the default entries, which is empty if there is no default section at the path.
+     */
+    @NotNull Map<String, Entry> getDefaultChildren(@NotNull String sectionPath) {
+        return defaultChildren.getOrDefault(sectionPath, Collections.emptyMap());
+    }
+
+    /**
+     * Gets the value at the given path, falling back to the default value.
+     *
+     * @param path the path.
+     * @return the value, or {@code null} if neither a value nor a default is set.
+     */
+    @Nullable Object get(@NotNull String path) {
+        Entry entry = values.get(path);
+        if (entry == null)
+            entry = defaults.get(path);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Gets the value at the given path, returning the given default if no value is set.
+     *
+     * @param path the path.
+     * @param def  the default value.
+     * @return the value, or the given default value.
+     */
+    @Nullable Object get(@NotNull String path, @Nullable Object def) {
+        final Entry entry = values.get(path);
+        return entry != null ? entry.value : def;
+    }
+
+    boolean isSet(@NotNull String path) {
+        return values.containsKey(path);
+    }
+
+    boolean contains(@NotNull String path) {
+        return values.containsKey(path) || defaults.containsKey(path);
+    }
+
+    /* Typed access */
+
+    @Nullable String getString(@NotNull String path) {
+        final Entry def = defaults.get(path);
+        return getString(path, def != null ? def.asString() : null);
+    }
+
+    @Nullable String getString(@NotNull String path, @Nullable String def) {
+        final Entry entry = values.get(path);
+        return entry != null ? entry.asString() : def;
+    }
+
+    int getInt(@NotNull String path) {
+        final Entry def = defaults.get(path);
+        return getInt(path, def != null && def.number ? def.intValue : 0);
+    }
+
+    int getInt(@NotNull String path, int def) {
+        final Entry entry = values.get(path);
+        return entry != null && entry.number ? entry.intValue : def;
+    }
+
+    long getLong(@NotNull String path) {
+        final Entry def = defaults.get(path);
+        return getLong(path, def != null && def.number ? def.longValue : 0L);
+    }
+
+    long getLong(@NotNull String path, long def) {
+        final Entry entry = values.get(path);
+        return entry != null && entry.number ? entry.longValue : def;
+    }
+
+    double getDouble(@NotNull String path) {
+        final Entry def = defaults.get(path);
+        return getDouble(path, def != null && def.number ? def.doubleValue : 0D);
+    }
+
+    double getDouble(@NotNull String path, double def) {
+        final Entry entry = values.get(path);
+        return entry != null && entry.number ? entry.doubleValue : def;
+    }
+
+    boolean getBoolean(@NotNull String path) {
+        final Entry def = defaults.get(path);
+        return getBoolean(path, def != null && def.value instanceof Boolean && (Boolean) def.value);
+    }
+
+    boolean getBoolean(@NotNull String path, boolean def) {
+        final Entry entry = values.get(path);
+        return entry != null && entry.value instanceof Boolean ? (Boolean) entry.value : def;
+    }
+
+    @Nullable List<?> getList(@NotNull String path) {
+        final Object value = get(path);
+        return value instanceof List ? (List<?>) value : null;
+    }
+
+    @NotNull List<Map<?, ?>> getMapList(@NotNull String path) {
+        final List<?> list = getList(path);
+        if (list == null)
+            return new ArrayList<>();
+        final List<Map<?, ?>> result = new ArrayList<>(list.size());
+        for (Object element : list)
+            if (element instanceof Map)
+                result.add((Map<?, ?>) element);
+        return result;
+    }
+
+    @Nullable ConfigurationSection getSection(@NotNull String path) {
+        final Object value = get(path);
+        return value instanceof ConfigurationSection ? (ConfigurationSection) value : null;
+    }
+
+    /**
+     * A single compiled configuration value.
+     */
+    static final class Entry {
+
+        final Object value;
+        final boolean number;
+        final int intValue;
+        final long longValue;
+        final double doubleValue;
+        private final Object[] validatedBy;
+        private final String stringValue;
+
+        Entry(@NotNull Object value) {
+            this.value = value;
+            if (value instanceof Number) {
+                final Number num = (Number) value;
+                this.number = true;
+                this.intValue = num.intValue();
+                this.longValue = num.longValue();
+                this.doubleValue = num.doubleValue();
+            } else {
+                this.number = false;
+                this.intValue = 0;
+                this.longValue = 0L;
+                this.doubleValue = 0D;
+            }
+            // Only precompute the string form of scalars, sections and lists are rarely read as strings
+            if (value instanceof String)
+                this.stringValue = (String) value;
+            else if (value instanceof Number || value instanceof Boolean || value instanceof Character)
+                this.stringValue = ConfigDeduplicator.intern(value.toString());
+            else
+                this.stringValue = null;
+            this.validatedBy = null;
+        }
+
+        private Entry(@NotNull Entry entry, @NotNull Object[] validatedBy) {
+            this.value = entry.value;
+            this.number = entry.number;
+            this.intValue = entry.intValue;
+            this.longValue = entry.longValue;
+            this.doubleValue = entry.doubleValue;
+            this.stringValue = entry.stringValue;
+            this.validatedBy = validatedBy;
+        }
+
+        @NotNull String asString() {
+            return stringValue != null ? stringValue : value.toString();
+        }
+
+        /**
+         * Checks whether this value was validated against the given condition. Conditions are compared by identity, so that a different
+         * condition for the same path is never skipped.
+         *
+         * @param condition the condition.
+         * @return {@code true} if the value is known to meet the condition, {@code false} otherwise.
+         */
+        boolean isValidatedBy(@NotNull Object condition) {
+            if (validatedBy == null)
+                return false;
+            for (Object validated : validatedBy)
+                if (validated == condition)
+                    return true;
+            return false;
+        }
+
+        /**
+         * Checks whether the given entry holds the same value as this entry. Two sections are always considered the same, as their
+         * contents are compared through their own entries.
+         *
+         * @param other the other entry.
+         * @return {@code true} if the entries hold the same value, {@code false} otherwise.
+         */
+        boolean sameValue(@Nullable Entry other) {
+            if (other == null)
+                return false;
+            if (value instanceof ConfigurationSection)
+                return other.value instanceof ConfigurationSection;
+            return value.equals(other.value);
+        }
+    }
+}
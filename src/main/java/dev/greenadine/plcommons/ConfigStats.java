@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how often each path of a {@link PLCConfig} is read, and how long parsing and deserializing takes per path. Counters are striped
+ * {@link LongAdder}s, so recording from many threads at once does not contend.
+ *
+ * @since 0.1
+ */
+final class ConfigStats {
+
+    private final Map<String, LongAdder> reads = new ConcurrentHashMap<>();
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * Records a read of the given path.
+     *
+     * @param path the path.
+     */
+    void recordRead(@NotNull String path) {
+        LongAdder counter = reads.get(path);  // Avoid computeIfAbsent, which locks even if the key is present
+        if (counter == null)
+            counter = reads.computeIfAbsent(path, k -> new LongAdder());
+        counter.increment();
+    }
+
+    /**
+     * Records a call to a parser or deserializer for the given path.
+     *
+     * @param path  the path.
+     * @param nanos the duration of the call in nanoseconds.
+     */
+    void recordTiming(@NotNull String path, long nanos) {
+        Timing timing = timings.get(path);
+        if (timing == null)
+            timing = timings.computeIfAbsent(path, k -> new Timing());
+        timing.calls.increment();
+        timing.totalNanos.add(nanos);
+        timing.maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Resets all recorded statistics.
+     */
+    void reset() {
+        reads.clear();
+        timings.clear();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Creates a report of the most read paths and the slowest parsed or deserialized paths.
+     *
+     * @param limit the maximum number of paths to include in each part of the report.
+     * @return the lines of the report.
+     */
+    @NotNull List<String> report(int limit) {
+        final double minutes = Math.max(System.nanoTime() - startNanos, 1L) / (double) TimeUnit.MINUTES.toNanos(1);
+        final List<String> lines = new ArrayList<>();
+
+        final List<Map.Entry<String, Long>> readCounts = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> entry : reads.entrySet())
+            readCounts.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum()));
+        readCounts.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        lines.add("Most read config paths (" + reads.size() + " paths over " + String.format("%.1f", minutes) + " min):");
+        for (int i = 0; i < Math.min(limit, readCounts.size()); i++) {
+            final Map.Entry<String, Long> entry = readCounts.get(i);
+            lines.add(String.format("  %s: %d reads (%.0f/min)", entry.getKey(), entry.getValue(), entry.getValue() / minutes));
+        }
+
+        // Sum the counters once before sorting, as they keep changing while timings are recorded concurrently
+        final List<TimingSummary> timed = new ArrayList<>();
+        for (Map.Entry<String, Timing> entry : timings.entrySet())
+            timed.add(new TimingSummary(entry.getKey(), entry.getValue()));
+        timed.sort(Comparator.comparingLong((TimingSummary summary) -> summary.totalNanos).reversed());
+        lines.add("Slowest parsed/deserialized config paths (" + timed.size() + " paths):");
+        for (int i = 0; i < Math.min(limit, timed.size()); i++) {
+            final TimingSummary timing = timed.get(i);
+            lines.add(String.format("  %s: %d calls, %.3f ms total, %.1f us avg, %.1f us max", timing.path, timing.calls,
+                    timing.totalNanos / 1_000_000D, timing.calls > 0 ? timing.totalNanos / 1_000D / timing.calls : 0D,
+                    timing.maxNanos / 1_000D));
+        }
+        return lines;
+    }
+
+    private static final class Timing {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+    }
+
+    private static final class TimingSummary {
+
+        private final String path;
+        private final long calls;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private TimingSummary(@NotNull String path, @NotNull Timing timing) {
+            this.path = path;
+            this.calls = timing.calls.sum();
+            this.totalNanos = timing.totalNanos.sum();
+            this.maxNanos = timing.maxNanos.get();
+        }
+    }
+}
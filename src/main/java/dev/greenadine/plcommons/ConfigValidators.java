@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A utility class containing reusable validators for numeric configuration values.
+ * <p>
+ * The validators implement both the primitive and the boxed predicate interface, so they can be passed to any of the validating getters of
+ * {@link PLCConfig}. When used with a getter that accepts a boxed predicate, the value is still tested without boxing.
+ * </p>
+ *
+ * @since 0.1
+ */
+public final class ConfigValidators {
+
+    private ConfigValidators() {
+    }
+
+    public static final IntValidator POSITIVE_INT = intRange(1, Integer.MAX_VALUE);
+    public static final IntValidator NON_NEGATIVE_INT = intRange(0, Integer.MAX_VALUE);
+    public static final IntValidator PORT = intRange(1, 65535);
+    public static final LongValidator POSITIVE_LONG = longRange(1L, Long.MAX_VALUE);
+    public static final LongValidator NON_NEGATIVE_LONG = longRange(0L, Long.MAX_VALUE);
+    public static final DoubleValidator POSITIVE_DOUBLE = new DoubleRange(0D, Double.POSITIVE_INFINITY, false);
+    public static final DoubleValidator NON_NEGATIVE_DOUBLE = doubleRange(0D, Double.POSITIVE_INFINITY);
+    public static final DoubleValidator PERCENTAGE = doubleRange(0D, 100D);
+    public static final DoubleValidator PROBABILITY = doubleRange(0D, 1D);
+
+    /**
+     * Creates a validator for integers within the given range.
+     *
+     * @param min the minimum value, inclusive.
+     * @param max the maximum value, inclusive.
+     * @return the validator.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull IntValidator intRange(int min, int max) {
+        return new IntRange(min, max);
+    }
+
+    /**
+     * Creates a validator for longs within the given range.
+     *
+     * @param min the minimum value, inclusive.
+     * @param max the maximum value, inclusive.
+     * @return the validator.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull LongValidator longRange(long min, long max) {
+        return new LongRange(min, max);
+    }
+
+    /**
+     * Creates a validator for doubles within the given range.
+     *
+     * @param min the minimum value, inclusive.
+     * @param max the maximum value, inclusive.
+     * @return the validator.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull DoubleValidator doubleRange(double min, double max) {
+        return new DoubleRange(min, max, true);
+    }
+
+    /**
+     * Gets a description of the given validator to use as details message, if it is one of the range validators of this class.
+     *
+     * @param validator the validator.
+     * @return the description, or {@code null} if the validator is not a range validator of this class.
+     */
+    static @Nullable String describe(@NotNull Object validator) {
+        return validator instanceof IntRange || validator instanceof LongRange || validator instanceof DoubleRange ? validator.toString() : null;
+    }
+
+    /**
+     * A validator for integer values, which can be used both as {@link IntPredicate} and as {@link Predicate Predicate&lt;Integer&gt;}.
+     */
+    @FunctionalInterface
+    public interface IntValidator extends IntPredicate, Predicate<Integer> {
+
+        @Override
+        default boolean test(Integer value) {
+            return value != null && test(value.intValue());
+        }
+
+        @Override
+        default @NotNull IntValidator negate() {
+            return value -> !test(value);
+        }
+    }
+
+    /**
+     * A validator for long values, which can be used both as {@link LongPredicate} and as {@link Predicate Predicate&lt;Long&gt;}.
+     */
+    @FunctionalInterface
+    public interface LongValidator extends LongPredicate, Predicate<Long> {
+
+        @Override
+        default boolean test(Long value) {
+            return value != null && test(value.longValue());
+        }
+
+        @Override
+        default @NotNull LongValidator negate() {
+            return value -> !test(value);
+        }
+    }
+
+    /**
+     * A validator for double values, which can be used both as {@link DoublePredicate} and as {@link Predicate Predicate&lt;Double&gt;}.
+     */
+    @FunctionalInterface
+    public interface DoubleValidator extends DoublePredicate, Predicate<Double> {
+
+        @Override
+        default boolean test(Double value) {
+            return value != null && test(value.doubleValue());
+        }
+
+        @Override
+        default @NotNull DoubleValidator negate() {
+            return value -> !test(value);
+        }
+    }
+
+    private static final class IntRange implements IntValidator {
+
+        private final int min;
+        private final int max;
+
+        private IntRange(int min, int max) {
+            if (min > max)
+                throw new IllegalArgumentException("Minimum cannot be greater than maximum");
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean test(int value) {
+            return value >= min && value <= max;
+        }
+
+        @Override
+        public String toString() {
+            return "must be between " + min + " and " + max;
+        }
+    }
+
+    private static final class LongRange implements LongValidator {
+
+        private final long min;
+        private final long max;
+
+        private LongRange(long min, long max) {
+            if (min > max)
+                throw new IllegalArgumentException("Minimum cannot be greater than maximum");
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean test(long value) {
+            return value >= min && value <= max;
+        }
+
+        @Override
+        public String toString() {
+            return "must be between " + min + " and " + max;
+        }
+    }
+
+    private static final class DoubleRange implements DoubleValidator {
+
+        private final double min;
+        private final double max;
+        private final boolean minInclusive;
+
+        private DoubleRange(double min, double max, boolean minInclusive) {
+            if (min > max)
+                throw new IllegalArgumentException("Minimum cannot be greater than maximum");
+            this.min = min;
+            this.max = max;
+            this.minInclusive = minInclusive;
+        }
+
+        @Override
+        public boolean test(double value) {
+            return (minInclusive ? value >= min : value > min) && value <= max;
+        }
+
+        @Override
+        public String toString() {
+            if (max == Double.POSITIVE_INFINITY)
+                return "must be " + (minInclusive ? "at least " : "greater than ") + min;
+            return "must be between " + min + " and " + max;
+        }
+    }
+}
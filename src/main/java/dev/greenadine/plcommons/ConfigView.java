@@ -0,0 +1,369 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A read-only view of a section of a {@link PLCConfig}.
+ * <p>
+ * Unlike {@link PLCConfig#getSection(String)}, a view does not copy the section. Values are looked up by their key within the section
+ * directly in the configuration's snapshot, so reading a value does not allocate. The view is live: it always reflects the current
+ * configuration, including after reloads. Keys may contain the path separator to read values from nested sections, at the cost of building
+ * the full path on every lookup; prefer {@link #getView(String)} for those.
+ * </p>
+ * <p>
+ * Like {@link PLCConfig}, the getters without a default value fall back to the configuration's defaults, and finally to the fallback values
+ * the view was created with, if any.
+ * </p>
+ *
+ * @since 0.1
+ */
+public final class ConfigView {
+
+    private final PLCConfig config;
+    private final String path;
+    private final Map<String, Object> fallback;
+
+    ConfigView(@NotNull PLCConfig config, @NotNull String path, @Nullable Map<String, Object> fallback) {
+        this.config = config;
+        this.path = path;
+        this.fallback = fallback != null ? fallback : Collections.emptyMap();
+    }
+
+    /**
+     * Gets the path of the section this view represents.
+     *
+     * @return the path, or an empty string for the root section.
+     */
+    public @NotNull String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets a view of the section with the given key within this section.
+     *
+     * @param key the key of the section.
+     * @return the view.
+     */
+    public @NotNull ConfigView getView(@NotNull String key) {
+        final Object nested = fallback.get(key);
+        //noinspection unchecked
+        return new ConfigView(config, fullPath(config.getSnapshot(), key), nested instanceof Map ? (Map<String, Object>) nested : null);
+    }
+
+    /*
+     * KEYS
+     */
+
+    /**
+     * Gets the keys of the values that are set directly within this section, in the order they appear in the file. The returned set is a
+     * read-only view, not a copy.
+     *
+     * @return the keys.
+     */
+    public @NotNull Set<String> getKeys() {
+        final ConfigSnapshot snapshot = config.read(path);
+        return snapshot.getChildren(path).keySet();
+    }
+
+    /**
+     * Performs the given action for each value directly within this section, followed by the default and fallback values whose keys are not
+     * set. Nested sections are passed as {@link org.bukkit.configuration.ConfigurationSection ConfigurationSection}s.
+     *
+     * @param action the action.
+     */
+    public void forEach(@NotNull BiConsumer<String, Object> action) {
+        final ConfigSnapshot snapshot = config.read(path);
+        final Map<String, ConfigSnapshot.Entry> children = snapshot.getChildren(path);
+        final Map<String, ConfigSnapshot.Entry> defaults = snapshot.getDefaultChildren(path);
+        for (Map.Entry<String, ConfigSnapshot.Entry> entry : children.entrySet())
+            action.accept(entry.getKey(), entry.getValue().value);
+        for (Map.Entry<String, ConfigSnapshot.Entry> entry : defaults.entrySet())
+            if (!children.containsKey(entry.getKey()))
+                action.accept(entry.getKey(), entry.getValue().value);
+        for (Map.Entry<String, Object> entry : fallback.entrySet())
+            if (!children.containsKey(entry.getKey()) && !defaults.containsKey(entry.getKey()))
+                action.accept(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * Gets the number of values that are set directly within this section.
+     *
+     * @return the number of values.
+     */
+    public int size() {
+        return config.read(path).getChildren(path).size();
+    }
+
+    /**
+     * Checks whether no values are set within this section.
+     *
+     * @return {@code true} if the section is empty or does not exist, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Checks whether a value is set at the given key, ignoring defaults.
+     *
+     * @param key the key.
+     * @return {@code true} if a value is set, {@code false} otherwise.
+     */
+    public boolean isSet(@NotNull String key) {
+        return entry(config.read(path), key) != null;
+    }
+
+    /**
+     * Checks whether a value, default value or fallback value exists at the given key.
+     *
+     * @param key the key.
+     * @return {@code true} if a value exists, {@code false} otherwise.
+     */
+    public boolean contains(@NotNull String key) {
+        final ConfigSnapshot snapshot = config.read(path);
+        return entry(snapshot, key) != null || defaultEntry(snapshot, key) != null || fallback.containsKey(key);
+    }
+
+    /*
+     * VALUES
+     */
+
+    /**
+     * Gets the value at the given key, falling back to the default value.
+     *
+     * @param key the key.
+     * @return the value, or {@code null} if no value exists at the key.
+     */
+    public @Nullable Object get(@NotNull String key) {
+        final ConfigSnapshot snapshot = config.read(path);
+        ConfigSnapshot.Entry entry = entry(snapshot, key);
+        if (entry == null)
+            entry = defaultEntry(snapshot, key);
+        return entry != null ? entry.value : fallback.get(key);
+    }
+
+    /**
+     * Gets the value at the given key, or the given default value if no value is set.
+     *
+     * @param key the key.
+     * @param def the default value.
+     * @return the value, or the default value.
+     */
+    @Contract("_, !null -> !null")
+    public Object get(@NotNull String key, @Nullable Object def) {
+        final ConfigSnapshot.Entry entry = entry(config.read(path), key);
+        return entry != null ? entry.value : def;
+    }
+
+    /**
+     * Gets the string at the given key, falling back to the default value.
+     *
+     * @param key the key.
+     * @return the string, or {@code null} if no value exists at the key.
+     */
+    public @Nullable String getString(@NotNull String key) {
+        final ConfigSnapshot snapshot = config.read(path);
+        ConfigSnapshot.Entry entry = entry(snapshot, key);
+        if (entry == null)
+            entry = defaultEntry(snapshot, key);
+        if (entry != null)
+            return entry.asString();
+        final Object value = fallback.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Gets the string at the given key, or the given default value if no value is set.
+     *
+     * @param key the key.
+     * @param def the default value.
+     * @return the string, or the default value.
+     */
+    @Contract("_, !null -> !null")
+    public String getString(@NotNull String key, @Nullable String def) {
+        final ConfigSnapshot.Entry entry = entry(config.read(path), key);
+        return entry != null ? entry.asString() : def;
+    }
+
+    /**
+     * Gets the integer at the given key, falling back to the default value.
+     *
+     * @param key the key.
+     * @return the integer, or {@code 0} if no number exists at the key.
+     */
+    public int getInt(@NotNull String key) {
+        final ConfigSnapshot.Entry entry = numberEntry(key);
+        if (entry != null)
+            return entry.intValue;
+        final Object value = fallback.get(key);
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    /**
+     * Gets the integer at the given key, or the given default value if no number is set.
+     *
+     * @param key the key.
+     * @param def the default value.
+     * @return the integer, or the default value.
+     */
+    public int getInt(@NotNull String key, int def) {
+        final ConfigSnapshot.Entry entry = entry(config.read(path), key);
+        return entry != null && entry.number ? entry.intValue : def;
+    }
+
+    /**
+     * Gets the long at the given key, falling back to the default value.
+     *
+     * @param key the key.
+     * @return the long, or {@code 0} if no number exists at the key.
+     */
+    public long getLong(@NotNull String key) {
+        final ConfigSnapshot.Entry entry = numberEntry(key);
+        if (entry != null)
+            return entry.longValue;
+        final Object value = fallback.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    /**
+     * Gets the long at the given key, or the given default value if no number is set.
+     *
+     * @param key the key.
+     * @param def the default value.
+     * @return the long, or the default value.
+     */
+    public long getLong(@NotNull String key, long def) {
+        final ConfigSnapshot.Entry entry = entry(config.read(path), key);
+        return entry != null && entry.number ? entry.longValue : def;
+    }
+
+    /**
+     * Gets the double at the given key, falling back to the default value.
+     *
+     * @param key the key.
+     * @return the double, or {@code 0} if no number exists at the key.
+     */
+    public double getDouble(@NotNull String key) {
+        final ConfigSnapshot.Entry entry = numberEntry(key);
+        if (entry != null)
+            return entry.doubleValue;
+        final Object value = fallback.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0D;
+    }
+
+    /**
+     * Gets the double at the given key, or the given default value if no number is set.
+     *
+     * @param key the key.
+     * @param def the default value.
+     * @return the double, or the default value.
+     */
+    public double getDouble(@NotNull String key, double def) {
+        final ConfigSnapshot.Entry entry = entry(config.read(path), key);
+        return entry != null && entry.number ? entry.doubleValue : def;
+    }
+
+    /**
+     * Gets the boolean at the given key, falling back to the default value.
+     *
+     * @param key the key.
+     * @return the boolean, or {@code false} if no boolean exists at the key.
+     */
+    public boolean getBoolean(@NotNull String key) {
+        final Object value = get(key);
+        return value instanceof Boolean && (Boolean) value;
+    }
+
+    /**
+     * Gets the boolean at the given key, or the given default value if no boolean is set.
+     *
+     * @param key the key.
+     * @param def the default value.
+     * @return the boolean, or the default value.
+     */
+    public boolean getBoolean(@NotNull String key, boolean def) {
+        final ConfigSnapshot.Entry entry = entry(config.read(path), key);
+        return entry != null && entry.value instanceof Boolean ? (Boolean) entry.value : def;
+    }
+
+    /**
+     * Gets the list at the given key, falling back to the default value. The returned list is a read-only view, not a copy.
+     *
+     * @param key the key.
+     * @return the list, or an empty list if no list exists at the key.
+     */
+    public @NotNull List<?> getList(@NotNull String key) {
+        final Object value = get(key);
+        return value instanceof List ? Collections.unmodifiableList((List<?>) value) : Collections.emptyList();
+    }
+
+    /*
+     * INTERNAL
+     */
+
+    private @Nullable ConfigSnapshot.Entry entry(@NotNull ConfigSnapshot snapshot, @NotNull String key) {
+        if (key.indexOf(snapshot.getPathSeparator()) >= 0)
+            return snapshot.getEntry(fullPath(snapshot, key));
+        return snapshot.getChildren(path).get(key);
+    }
+
+    private @Nullable ConfigSnapshot.Entry defaultEntry(@NotNull ConfigSnapshot snapshot, @NotNull String key) {
+        if (key.indexOf(snapshot.getPathSeparator()) >= 0)
+            return snapshot.getDefaultEntry(fullPath(snapshot, key));
+        return snapshot.getDefaultChildren(path).get(key);
+    }
+
+    /**
+     * Gets the entry at the given key if it is a number, falling back to the default entry.
+     *
+     * @param key the key.
+     * @return the entry, or {@code null} if neither the value nor the default value is a number.
+     */
+    private @Nullable ConfigSnapshot.Entry numberEntry(@NotNull String key) {
+        final ConfigSnapshot snapshot = config.read(path);
+        final ConfigSnapshot.Entry entry = entry(snapshot, key);
+        if (entry != null && entry.number)
+            return entry;
+        final ConfigSnapshot.Entry def = defaultEntry(snapshot, key);
+        return def != null && def.number ? def : null;
+    }
+
+    private @NotNull String fullPath(@NotNull ConfigSnapshot snapshot, @NotNull String key) {
+        return path.isEmpty() ? key : path + snapshot.getPathSeparator() + key;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigView{path='" + path + "'}";
+    }
+}
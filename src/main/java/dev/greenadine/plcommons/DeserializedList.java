@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import dev.greenadine.plcommons.exception.InvalidConfigValueException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A list of objects deserialized from a list of maps in a {@link PLCConfig}, deserializing each entry on demand.
+ * <p>
+ * Entries are deserialized the first time they are accessed, after which the result is kept. Entries that cannot be deserialized do not
+ * affect the other entries: their errors are collected by index and can be retrieved through {@link #getErrors()}. All entries can be
+ * deserialized eagerly and in parallel using {@link #deserializeAll(ForkJoinPool)}, or streamed using {@link #stream(boolean)}. The list is
+ * safe to use from multiple threads.
+ * </p>
+ *
+ * @param <T> the type of the deserialized objects.
+ * @since 0.1
+ */
+public final class DeserializedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int PARALLEL_THRESHOLD = 256;
+    private static final Object NULL = new Object();
+
+    private final String path;
+    private final List<?> source;
+    private final Function<Map<?, ?>, T> deserializer;
+    private final AtomicReferenceArray<Object> results;
+    private final SortedMap<Integer, Exception> errors = new ConcurrentSkipListMap<>();
+
+    DeserializedList(@NotNull String path, @NotNull List<?> source, @NotNull Function<Map<?, ?>, T> deserializer) {
+        this.path = path;
+        this.source = source;
+        this.deserializer = deserializer;
+        this.results = new AtomicReferenceArray<>(source.size());
+    }
+
+    /**
+     * Gets the deserialized object at the given index, deserializing it if it was not accessed before.
+     *
+     * @param index the index.
+     * @return the deserialized object.
+     * @throws IndexOutOfBoundsException   if the index is out of range.
+     * @throws InvalidConfigValueException if the entry at the index could not be deserialized.
+     */
+    @Override
+    public T get(int index) {
+        final Object result = resolve(index);
+        if (result instanceof Failure)
+            throw new InvalidConfigValueException(path + "[" + index + "]", ((Failure) result).cause);
+        return unwrap(result);
+    }
+
+    /**
+     * Gets the deserialized object at the given index, deserializing it if it was not accessed before.
+     *
+     * @param index the index.
+     * @return the deserialized object, or {@code null} if the entry at the index could not be deserialized.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public @Nullable T getOrNull(int index) {
+        final Object result = resolve(index);
+        return result instanceof Failure ? null : unwrap(result);
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+
+    /**
+     * Deserializes all entries that were not accessed yet, in parallel on the common pool.
+     *
+     * @return this list.
+     * @see #deserializeAll(ForkJoinPool)
+     */
+    public @NotNull DeserializedList<T> deserializeAll() {
+        return deserializeAll(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Deserializes all entries that were not accessed yet, in parallel on the given pool. Entries that cannot be deserialized are recorded in
+     * {@link #getErrors()} instead of aborting the other entries.
+     *
+     * @param pool the pool to deserialize on.
+     * @return this list.
+     */
+    public @NotNull DeserializedList<T> deserializeAll(@NotNull ForkJoinPool pool) {
+        if (!source.isEmpty())
+            pool.invoke(new DeserializeTask(0, source.size()));
+        return this;
+    }
+
+    /**
+     * Streams the entries that could be deserialized, in order, deserializing each entry as the stream reaches it. Entries that cannot be
+     * deserialized are skipped and recorded in {@link #getErrors()}.
+     *
+     * @param parallel {@code true} for a parallel stream, {@code false} otherwise.
+     * @return the stream.
+     */
+    public @NotNull Stream<T> stream(boolean parallel) {
+        return StreamSupport.stream(new EntrySpliterator(0, source.size()), parallel);
+    }
+
+    /**
+     * Gets the errors of the entries that could not be deserialized so far, by their index.
+     *
+     * @return the errors.
+     */
+    public @NotNull SortedMap<Integer, Exception> getErrors() {
+        return Collections.unmodifiableSortedMap(errors);
+    }
+
+    /**
+     * Checks whether any entry could not be deserialized so far.
+     *
+     * @return {@code true} if there are errors, {@code false} otherwise.
+     */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * Gets the result at the given index, deserializing the entry if needed.
+     *
+     * @param index the index.
+     * @return the result, which is either the deserialized object, {@link #NULL} or a {@link Failure}.
+     */
+    private @NotNull Object resolve(int index) {
+        final Object existing = results.get(index);
+        if (existing != null)
+            return existing;
+        Object result;
+        final Object entry = source.get(index);
+        try {
+            if (!(entry instanceof Map))
+                throw new IllegalArgumentException("Expected a section, found '" + entry + "'");
+            final T value = deserializer.apply((Map<?, ?>) entry);
+            result = value != null ? value : NULL;
+        } catch (Exception ex) {
+            result = new Failure(ex);
+        }
+        // Another thread may have deserialized the same entry meanwhile, keep whichever result was stored first
+        if (!results.compareAndSet(index, null, result))
+            return results.get(index);
+        if (result instanceof Failure)
+            errors.put(index, ((Failure) result).cause);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unwrap(@NotNull Object result) {
+        return result == NULL ? null : (T) result;
+    }
+
+    private static final class Failure {
+
+        private final Exception cause;
+
+        private Failure(@NotNull Exception cause) {
+            this.cause = cause;
+        }
+    }
+
+    private final class DeserializeTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+
+        private DeserializeTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int index = from; index < to; index++)
+                    resolve(index);
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new DeserializeTask(from, middle), new DeserializeTask(middle, to));
+        }
+    }
+
+    /**
+     * Splits the entries by index range, skipping entries that cannot be deserialized.
+     */
+    private final class EntrySpliterator implements Spliterator<T> {
+
+        private int index;
+        private final int end;
+
+        private EntrySpliterator(int index, int end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(@NotNull Consumer<? super T> action) {
+            while (index < end) {
+                final Object result = resolve(index++);
+                if (!(result instanceof Failure)) {
+                    action.accept(unwrap(result));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public @Nullable Spliterator<T> trySplit() {
+            final int middle = (index + end) >>> 1;
+            if (middle - index < PARALLEL_THRESHOLD / 4)
+                return null;
+            final Spliterator<T> prefix = new EntrySpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | IMMUTABLE;
+        }
+    }
+}
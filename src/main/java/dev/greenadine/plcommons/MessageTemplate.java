@@ -0,0 +1,339 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message that has been compiled into literal, color and {@code %placeholder%} segments, so that it can be rendered in a single pass
+ * without parsing the message again.
+ * <p>
+ * Rendering produces the same output as replacing the placeholders in the message and then color formatting it: color codes within
+ * replacement values are formatted, and replacements whose name contains whitespace are still applied, by falling back to replacing and
+ * formatting the whole message.
+ * </p>
+ *
+ * @since 0.1
+ */
+final class MessageTemplate {
+
+    private final String source;
+    private final PLCMessageFormatter formatter;
+    private final Segment[] segments;
+    private final int placeholderCount;
+    private final int staticLength;
+    private final String rendered;
+
+    private MessageTemplate(@NotNull String source, @Nullable PLCMessageFormatter formatter, @NotNull List<Segment> segments) {
+        this.source = source;
+        this.formatter = formatter;
+        this.segments = segments.toArray(new Segment[0]);
+        int placeholders = 0;
+        int length = 0;
+        for (Segment segment : this.segments) {
+            if (segment.kind == SegmentKind.PLACEHOLDER)
+                placeholders++;
+            else
+                length += segment.text.length();
+        }
+        this.placeholderCount = placeholders;
+        this.staticLength = length;
+        this.rendered = placeholders == 0 ? concat(this.segments, length) : null;
+    }
+
+    /**
+     * Compiles a message without color formatting.
+     *
+     * @param message the message.
+     * @return the template.
+     */
+    static @NotNull MessageTemplate literal(@NotNull String message) {
+        return new Builder().appendText(message).build(message, null);
+    }
+
+    /**
+     * Renders this template.
+     *
+     * @param replacements the replacements for the placeholders, as key-value pairs. A {@code null} value is rendered as an empty string,
+     *                     and placeholders without a replacement are rendered as they appear in the message.
+     * @return the rendered message.
+     * @throws IllegalArgumentException if the replacements are not in pairs of two.
+     */
+    @NotNull String render(String... replacements) {
+        if (replacements.length % 2 != 0)
+            throw new IllegalArgumentException("Replacements must be in pairs of two.");
+        if (requiresFullScan(replacements))
+            return format(Placeholders.replace(source, replacements));
+        if (rendered != null)
+            return rendered;
+        final StringBuilder sb = new StringBuilder(staticLength + placeholderCount * 16);
+        for (Segment segment : segments) {
+            if (segment.kind != SegmentKind.PLACEHOLDER) {
+                sb.append(segment.text);
+                continue;
+            }
+            final int index = indexOf(replacements, segment.text);
+            if (index < 0) {
+                sb.append('%').append(segment.text).append('%');
+                continue;
+            }
+            final String value = replacements[index + 1];
+            if (value != null)
+                sb.append(formatValue(value));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Renders this template.
+     *
+     * @param replacements the replacements for the placeholders. Values may be {@link java.util.function.Supplier}s, which are only called
+     *                     if their placeholder occurs in this template. Placeholders without a replacement are rendered as they appear in
+     *                     the message.
+     * @return the rendered message.
+     */
+    @NotNull String render(@NotNull Map<String, ?> replacements) {
+        if (requiresFullScan(replacements))
+            return format(Placeholders.replace(source, replacements));
+        if (rendered != null)
+            return rendered;
+        final StringBuilder sb = new StringBuilder(staticLength + placeholderCount * 16);
+        for (Segment segment : segments) {
+            if (segment.kind != SegmentKind.PLACEHOLDER) {
+                sb.append(segment.text);
+                continue;
+            }
+            final Object value = replacements.get(segment.text);
+            if (value == null && !replacements.containsKey(segment.text))
+                sb.append('%').append(segment.text).append('%');
+            else
+                sb.append(formatValue(Placeholders.valueOf(value)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Checks whether any of the given replacements has a name that cannot be a placeholder of this template, because it contains
+     * whitespace. Such replacements are only applied by replacing the placeholders in the whole message.
+     *
+     * @param replacements the replacements, as key-value pairs.
+     * @return {@code true} if the whole message must be scanned for the replacements, {@code false} otherwise.
+     */
+    boolean requiresFullScan(@NotNull String[] replacements) {
+        for (int i = 0; i < replacements.length; i += 2)
+            if (replacements[i] != null && !isPlaceholderName(replacements[i]))
+                return true;
+        return false;
+    }
+
+    /**
+     * Checks whether any of the given replacements has a name that cannot be a placeholder of this template, because it contains
+     * whitespace. Such replacements are only applied by replacing the placeholders in the whole message.
+     *
+     * @param replacements the replacements.
+     * @return {@code true} if the whole message must be scanned for the replacements, {@code false} otherwise.
+     */
+    boolean requiresFullScan(@NotNull Map<String, ?> replacements) {
+        for (String key : replacements.keySet())
+            if (key != null && !isPlaceholderName(key))
+                return true;
+        return false;
+    }
+
+    /**
+     * Color formats a replacement value, as it would have been formatted within the message.
+     *
+     * @param value the replacement value.
+     * @return the formatted value.
+     */
+    @NotNull String formatValue(@NotNull String value) {
+        return formatter != null && value.indexOf('{') >= 0 ? formatter.formatValue(value) : value;
+    }
+
+    /**
+     * Color formats a message that has been replaced as a whole.
+     *
+     * @param message the message.
+     * @return the formatted message.
+     */
+    private @NotNull String format(@NotNull String message) {
+        return formatter != null ? formatter.format(message) : message;
+    }
+
+    /**
+     * Concatenates the text of the given segments, which must not contain placeholders.
+     *
+     * @param segments the segments.
+     * @param length   the total length of the text.
+     * @return the concatenated text.
+     */
+    private static @NotNull String concat(@NotNull Segment[] segments, int length) {
+        final StringBuilder sb = new StringBuilder(length);
+        for (Segment segment : segments)
+            sb.append(segment.text);
+        return sb.toString();
+    }
+
+    /**
+     * Gets the segments of this template.
+     *
+     * @return the segments.
+     */
+    @NotNull List<Segment> getSegments() {
+        return Collections.unmodifiableList(Arrays.asList(segments));
+    }
+
+    /**
+     * Gets the index of the key in the given key-value pairs.
+     *
+     * @param replacements the key-value pairs.
+     * @param key          the key.
+     * @return the index of the key, or {@code -1} if the key is not present.
+     */
+    static int indexOf(@NotNull String[] replacements, @NotNull String key) {
+        for (int i = 0; i < replacements.length; i += 2)
+            if (key.equals(replacements[i]))
+                return i;
+        return -1;
+    }
+
+    /**
+     * Checks whether the given name may be the name of a placeholder.
+     *
+     * @param name the name.
+     * @return {@code true} if the name may be the name of a placeholder, {@code false} otherwise.
+     */
+    private static boolean isPlaceholderName(@NotNull String name) {
+        if (name.isEmpty())
+            return false;
+        for (int i = 0; i < name.length(); i++)
+            if (!isPlaceholderChar(name.charAt(i)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Checks whether the given character may be part of a placeholder name. Any character except {@code %} and whitespace is allowed, so
+     * that a lone {@code %} such as in {@code 50% off} is not mistaken for the start of a placeholder.
+     *
+     * @param c the character.
+     * @return {@code true} if the character may be part of a placeholder name, {@code false} otherwise.
+     */
+    private static boolean isPlaceholderChar(char c) {
+        return c != '%' && !Character.isWhitespace(c);
+    }
+
+    enum SegmentKind {
+        LITERAL, COLOR, PLACEHOLDER
+    }
+
+    static final class Segment {
+
+        final SegmentKind kind;
+        final String text;
+        final ChatColor color;
+        final ChatColor style;
+
+        private Segment(@NotNull SegmentKind kind, @NotNull String text, @Nullable ChatColor color, @Nullable ChatColor style) {
+            this.kind = kind;
+            this.text = text;
+            this.color = color;
+            this.style = style;
+        }
+    }
+
+    /**
+     * Builds a template out of text and color segments.
+     */
+    static final class Builder {
+
+        private final List<Segment> segments = new ArrayList<>();
+
+        /**
+         * Appends text, splitting it into literal and placeholder segments.
+         *
+         * @param text the text.
+         * @return this builder.
+         */
+        @NotNull Builder appendText(@NotNull String text) {
+            int literalStart = 0;
+            int i = 0;
+            while (i < text.length()) {
+                if (text.charAt(i) != '%') {
+                    i++;
+                    continue;
+                }
+                int end = i + 1;
+                while (end < text.length() && isPlaceholderChar(text.charAt(end)))
+                    end++;
+                if (end == i + 1 || end == text.length() || text.charAt(end) != '%') {
+                    i = end == i + 1 ? i + 1 : end;
+                    continue;
+                }
+                appendLiteral(text.substring(literalStart, i));
+                segments.add(new Segment(SegmentKind.PLACEHOLDER, text.substring(i + 1, end), null, null));
+                i = end + 1;
+                literalStart = i;
+            }
+            appendLiteral(text.substring(literalStart));
+            return this;
+        }
+
+        /**
+         * Appends a color, optionally preceded by a style.
+         *
+         * @param style the style, or {@code null} for none.
+         * @param color the color.
+         * @return this builder.
+         */
+        @NotNull Builder appendColor(@Nullable ChatColor style, @NotNull ChatColor color) {
+            final String text = style == null ? color.toString() : style.toString() + color;
+            segments.add(new Segment(SegmentKind.COLOR, text, color, style));
+            return this;
+        }
+
+        /**
+         * Builds the template.
+         *
+         * @param source    the message the template was compiled from.
+         * @param formatter the formatter the message was formatted with, or {@code null} for none.
+         * @return the template.
+         */
+        @NotNull MessageTemplate build(@NotNull String source, @Nullable PLCMessageFormatter formatter) {
+            return new MessageTemplate(source, formatter, segments);
+        }
+
+        private void appendLiteral(@NotNull String literal) {
+            if (!literal.isEmpty())
+                segments.add(new Segment(SegmentKind.LITERAL, literal, null, null));
+        }
+    }
+}
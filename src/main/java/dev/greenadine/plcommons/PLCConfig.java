@@ -22,26 +22,599 @@
 
 package dev.greenadine.plcommons;
 
+import dev.greenadine.plcommons.annotation.Async;
+import dev.greenadine.plcommons.exception.ConfigValidationException;
 import dev.greenadine.plcommons.exception.InvalidConfigValueException;
 import dev.greenadine.plcommons.exception.MissingConfigValueException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.Configuration;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.MemorySection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * A utility class for common configuration operations, providing a more readable way of interacting with the config through functional programming.
+ * <p>
+ * All values are read from an immutable, flattened snapshot of the plugin configuration that is compiled when this object is created, so
+ * lookups do not have to walk the configuration tree. Changes made to the configuration afterwards only become visible after calling
+ * {@link #reload()} or {@link #reloadAsync()}. The snapshot is swapped atomically, so reading from any thread is safe.
+ * </p>
  */
 public class PLCConfig {
 
-    private final FileConfiguration config = PLCommons.getPlugin().getConfig();
-    private final Map<String, Object> values = new HashMap<>();
+    private static final long SAVE_DELAY_TICKS = 20L;
+    private static final Object MEMOIZED_NULL = new Object();
+
+    private final File file;
+    private final boolean pluginConfig;
+    private final boolean binaryCache;
+    private final boolean embeddedDefaults;
+    private volatile ConfigSnapshot snapshot;
+    private FileConfiguration source;
+    private boolean dirty;
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private final AtomicBoolean flushOnDisable = new AtomicBoolean();
+    private final Object saveLock = new Object();
+    private String written;  // Guarded by saveLock
+    private volatile ConfigSchema schema;
+    private volatile ConfigStats stats;
+    private final List<Consumer<Set<String>>> reloadListeners = new CopyOnWriteArrayList<>();
+    private final List<ChangeSubscription> changeSubscriptions = new CopyOnWriteArrayList<>();
+    private final Map<String, Map<Function<?, ?>, Object>> memoized = new ConcurrentHashMap<>();
+    private final LongAdder memoHits = new LongAdder();
+    private final LongAdder memoMisses = new LongAdder();
+
+    /**
+     * Creates a new config for the plugin configuration, as returned by {@link org.bukkit.plugin.java.JavaPlugin#getConfig()}.
+     */
+    public PLCConfig() {
+        final PLCommonsPlugin plugin = PLCommons.getPlugin();
+        this.file = new File(plugin.getDataFolder(), "config.yml");
+        this.pluginConfig = true;
+        this.binaryCache = false;
+        this.embeddedDefaults = true;
+        this.source = plugin.getConfig();
+        ConfigDeduplicator.deduplicate(file.getName(), source, false);
+        this.snapshot = ConfigSnapshot.of(source);
+    }
+
+    /**
+     * Creates a new config for the given configuration file. Defaults are loaded from the plugin's embedded resource with the same name as
+     * the file, if present.
+     *
+     * @param file the configuration file.
+     * @throws IllegalStateException if the file could not be loaded.
+     */
+    public PLCConfig(@NotNull File file) {
+        this(file, false);
+    }
+
+    /**
+     * Creates a new config for the given configuration file. Defaults are loaded from the plugin's embedded resource with the same name as
+     * the file, if present.
+     * <p>
+     * If the binary cache is enabled, the parsed configuration is stored in a binary cache file in the plugin's data folder, which is
+     * loaded instead of parsing the YAML source as long as the source file has not changed. This considerably reduces the startup time of
+     * plugins with large configuration files.
+     * </p>
+     *
+     * @param file        the configuration file.
+     * @param binaryCache {@code true} to enable the binary cache, {@code false} otherwise.
+     * @throws IllegalStateException if the file could not be loaded.
+     */
+    public PLCConfig(@NotNull File file, boolean binaryCache) {
+        this(file, binaryCache, true);
+    }
+
+    /**
+     * Creates a new config for the given configuration file.
+     *
+     * @param file             the configuration file.
+     * @param binaryCache      {@code true} to enable the binary cache, {@code false} otherwise.
+     * @param embeddedDefaults {@code true} to load defaults from the plugin's embedded resource with the same name as the file,
+     *                         {@code false} to load no defaults.
+     * @throws IllegalStateException if the file could not be loaded.
+     */
+    PLCConfig(@NotNull File file, boolean binaryCache, boolean embeddedDefaults) {
+        this.file = file;
+        this.pluginConfig = false;
+        this.binaryCache = binaryCache;
+        this.embeddedDefaults = embeddedDefaults;
+        this.source = loadOrThrow();
+        this.snapshot = ConfigSnapshot.of(source);
+    }
+
+    /*
+     * RELOADING
+     */
+
+    /**
+     * Reloads the configuration from disk and recompiles the snapshot all values are read from. Changes made through
+     * {@link #set(String, Object)} that have not been saved yet are written to the file first.
+     *
+     * @throws IllegalStateException     if the pending changes could not be saved, or the file could not be loaded.
+     * @throws ConfigValidationException if the reloaded configuration does not match the schema it was validated against.
+     */
+    public void reload() {
+        final Publication publication;
+        synchronized (saveLock) {  // No write may happen between reading the file and replacing the configuration
+            try {
+                flush();
+            } catch (IOException ex) {
+                throw new IllegalStateException("Failed to save configuration file '" + file.getName() + "' before reloading it", ex);
+            }
+            if (pluginConfig) {
+                final PLCommonsPlugin plugin = PLCommons.getPlugin();
+                plugin.reloadConfig();
+                ConfigDeduplicator.deduplicate(file.getName(), plugin.getConfig(), false);
+                publication = publishLoaded(plugin.getConfig());
+            } else {
+                publication = publishLoaded(loadOrThrow());
+            }
+        }
+        notifyListeners(publication);
+    }
+
+    /**
+     * Reloads the plugin configuration from disk on a worker thread. The file is parsed and compiled into a new snapshot off the main
+     * thread, which is then published in a single swap. Readers never block, and always see either the old or the new configuration in
+     * its entirety. If the file cannot be read, is not valid YAML, or does not match the schema it was validated against, the current
+     * configuration is kept and the returned future completes exceptionally. Changes made through {@link #set(String, Object)} that have
+     * not been saved yet are written to the file first.
+     * <p>
+     * Note that this does not update the configuration returned by {@link org.bukkit.plugin.java.JavaPlugin#getConfig()}.
+     * </p>
+     *
+     * @return a future that completes once the new configuration has been published.
+     */
+    @Async
+    public @NotNull CompletableFuture<Void> reloadAsync() {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        Scheduling.runAsync(() -> {
+            try {
+                final Publication publication;
+                synchronized (saveLock) {
+                    flush();
+                    publication = publishLoaded(load());
+                }
+                notifyListeners(publication);
+                future.complete(null);
+            } catch (Throwable thrown) {
+                future.completeExceptionally(thrown);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Watches the configuration file with the given file watcher, reloading the configuration on the watcher's thread whenever the file
+     * changes. If the changed file is not a valid configuration, a warning is logged and the current configuration is kept. Changes
+     * caused by saving this configuration are ignored, and so are changes made while there are changes that have not been saved yet, as
+     * these would be lost otherwise.
+     *
+     * @param watcher the file watcher.
+     * @throws IOException if the configuration file could not be watched.
+     */
+    public void watch(@NotNull PLCFileWatcher watcher) throws IOException {
+        watcher.watch(file.toPath(), () -> {
+            try {
+                final Publication publication;
+                synchronized (saveLock) {
+                    if (isWritten())
+                        return;
+                    publication = publishLoaded(load());
+                }
+                if (publication == null)
+                    PluginLogger.warn("Ignoring external change of " + file.getName() + ", as it has changes that were not saved yet");
+                notifyListeners(publication);
+            } catch (IOException | InvalidConfigurationException | ConfigValidationException ex) {
+                PluginLogger.warn("Failed to reload " + file.getName() + ", keeping the current configuration", ex);
+            }
+        });
+    }
+
+    /**
+     * Adds a listener that is called after each reload with the paths of all values that changed, so that values derived from the
+     * configuration can be invalidated selectively. The listener is not called if nothing changed, and is called on the thread that
+     * performed the reload, after the new configuration has been published and without holding any lock of this config.
+     *
+     * @param listener the listener.
+     */
+    public void addReloadListener(@NotNull Consumer<Set<String>> listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Subscribes to changes of the values matching the given glob pattern. After each reload, the listener is called once with all changed
+     * paths that match the pattern, along with their old and new values, but only if any of them changed. The listener is called on the
+     * thread that performed the reload, without holding any lock of this config.
+     * <p>
+     * Within the pattern, {@code *} matches any part of a single path segment, and a {@code **} segment matches any number of segments. A
+     * change within a section is reported at the level of the pattern: with the pattern {@code arenas.*}, a change of
+     * {@code arenas.castle.spawn.x} is reported as a change of {@code arenas.castle}. This allows structures derived from the
+     * configuration to be rebuilt only for the parts that changed.
+     * </p>
+     *
+     * @param pattern  the glob pattern of the paths.
+     * @param listener the listener.
+     * @see ConfigChange
+     */
+    public void onChange(@NotNull String pattern, @NotNull Consumer<ConfigChange> listener) {
+        changeSubscriptions.add(new ChangeSubscription(ConfigPathPattern.compile(pattern, snapshot.getPathSeparator()), listener));
+    }
+
+    /**
+     * Compiles a snapshot of the given configuration, validating it against the schema if one was set.
+     *
+     * @param config the configuration.
+     * @return the snapshot.
+     * @throws ConfigValidationException if the configuration does not match the schema.
+     */
+    private @NotNull ConfigSnapshot compile(@NotNull Configuration config) {
+        final ConfigSnapshot next = ConfigSnapshot.of(config);
+        final ConfigSchema schema = this.schema;
+        return schema != null ? schema.validate(next, file.getName()) : next;
+    }
+
+    /**
+     * Publishes a snapshot of a configuration that was loaded from disk, replacing the configuration that is modified by
+     * {@link #set(String, Object)}. If there are changes that have not been saved yet, the loaded configuration does not contain them and
+     * is discarded instead, so that the changes are not lost.
+     *
+     * @param config the loaded configuration.
+     * @return the publication whose listeners are to be notified, or {@code null} if the configuration was discarded.
+     * @throws ConfigValidationException if the configuration does not match the schema.
+     */
+    private @Nullable Publication publishLoaded(@NotNull FileConfiguration config) {
+        final ConfigSnapshot next = compile(config);  // Compile outside of the lock, as this may take a while for large files
+        synchronized (this) {
+            if (dirty)
+                return null;
+            source = config;
+            return publish(next);
+        }
+    }
+
+    /**
+     * Checks whether the file still contains exactly the data that was last written to it by this config. Must be called while holding
+     * the save lock.
+     *
+     * @return {@code true} if the file was not changed since it was last written, {@code false} otherwise.
+     * @throws IOException if the file could not be read.
+     */
+    private boolean isWritten() throws IOException {
+        return written != null && file.isFile() && written.equals(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Publishes a new snapshot and invalidates the memoized results of the changed paths. The listeners are not notified yet, which is
+     * left to {@link #notifyListeners(Publication)} once the lock is released.
+     *
+     * @param next the new snapshot.
+     * @return the publication.
+     */
+    private synchronized @NotNull Publication publish(@NotNull ConfigSnapshot next) {
+        final ConfigSnapshot previous = snapshot;
+        snapshot = next;
+        final Set<String> changed = Collections.unmodifiableSet(previous.diff(next));
+        if (!changed.isEmpty())
+            invalidateMemoized(changed, next.getPathSeparator());
+        return new Publication(previous, next, changed);
+    }
+
+    /**
+     * Notifies the reload listeners and change subscriptions of a publication, if any paths changed. Must be called without holding any
+     * lock of this config, as listeners may call back into it or wait for other threads that do.
+     *
+     * @param publication the publication, or {@code null} if nothing was published.
+     */
+    private void notifyListeners(@Nullable Publication publication) {
+        if (publication == null || publication.changed.isEmpty())
+            return;
+        for (Consumer<Set<String>> listener : reloadListeners) {
+            try {
+                listener.accept(publication.changed);
+            } catch (Throwable thrown) {
+                PluginLogger.severe("Failed to handle config reload", thrown);
+            }
+        }
+        for (ChangeSubscription subscription : changeSubscriptions)
+            subscription.notify(publication.changed, publication.previous, publication.next);
+    }
+
+    /*
+     * SAVING
+     */
+
+    /**
+     * Sets the value at the specified path. The new value is visible to readers immediately, while the file is saved in the background:
+     * multiple changes made in quick succession are coalesced into a single write, which replaces the file atomically. Pending changes are
+     * written when the plugin is disabled.
+     * <p>
+     * Each change copies the configuration and recompiles its snapshot, so this is meant for occasional changes such as those made by
+     * administrators, not for storing data that changes continuously. Snapshots published before the change, and the sections and lists
+     * they hand out, are never modified. For the plugin configuration, this also means that the change is not visible through
+     * {@link org.bukkit.plugin.java.JavaPlugin#getConfig()} until the configuration is reloaded.
+     * </p>
+     *
+     * @param path  the path to set the value at.
+     * @param value the new value, or {@code null} to remove the value.
+     * @throws ConfigValidationException if the configuration would no longer match the schema it was validated against. The value is not
+     *                                   changed in that case.
+     */
+    public void set(@NotNull String path, @Nullable Object value) {
+        final Publication publication;
+        synchronized (this) {
+            final YamlConfiguration config = copyOf(source);  // Never modify a published configuration, its snapshot still hands it out
+            config.set(path, value);
+            final ConfigSnapshot next = compile(config);  // An invalid change simply discards the copy
+            source = config;
+            publication = publish(next);
+            dirty = true;
+        }
+        notifyListeners(publication);
+        if (flushOnDisable.compareAndSet(false, true))
+            PLCommons.getPlugin().addDisableHook(this::flushQuietly);
+        if (saveScheduled.compareAndSet(false, true))
+            Scheduling.runLaterAsync(SAVE_DELAY_TICKS, this::flushQuietly);
+    }
+
+    /**
+     * Writes the changes made through {@link #set(String, Object)} to the file on the calling thread, if there are any that have not been
+     * written yet.
+     *
+     * @throws IOException if the file could not be written.
+     */
+    public void flush() throws IOException {
+        synchronized (saveLock) {  // Keep writes in order, so an older state never overwrites a newer one
+            final String data;
+            synchronized (this) {
+                if (!dirty)
+                    return;
+                data = source.saveToString();  // Serialize while holding the lock, only the resulting string is written
+                dirty = false;
+            }
+            try {
+                ConfigFiles.writeAtomically(file, data);
+            } catch (IOException ex) {
+                synchronized (this) {
+                    dirty = true;  // Retry with the next flush, and keep reloads from discarding the changes
+                }
+                throw ex;
+            }
+            written = data;
+        }
+    }
+
+    /**
+     * Checks whether there are changes made through {@link #set(String, Object)} that have not been written to the file yet.
+     *
+     * @return {@code true} if there are unsaved changes, {@code false} otherwise.
+     */
+    public synchronized boolean hasUnsavedChanges() {
+        return dirty;
+    }
+
+    private void flushQuietly() {
+        saveScheduled.set(false);
+        try {
+            flush();
+        } catch (IOException ex) {
+            PluginLogger.severe("Failed to save configuration file '" + file.getName() + "'", ex);
+        }
+    }
+
+    /**
+     * Creates a deep copy of the given configuration, sharing only its defaults and immutable values.
+     *
+     * @param config the configuration.
+     * @return the copy.
+     */
+    private static @NotNull YamlConfiguration copyOf(@NotNull FileConfiguration config) {
+        final YamlConfiguration copy = new YamlConfiguration();
+        copy.options()
+                .pathSeparator(config.options().pathSeparator())
+                .copyDefaults(config.options().copyDefaults())
+                .parseComments(config.options().parseComments())
+                .setHeader(config.options().getHeader())
+                .setFooter(config.options().getFooter());
+        if (config instanceof YamlConfiguration)
+            copy.options().indent(((YamlConfiguration) config).options().indent());
+        if (config.getDefaults() != null)
+            copy.setDefaults(config.getDefaults());
+        copySection(config, copy);
+        return copy;
+    }
+
+    private static void copySection(@NotNull ConfigurationSection from, @NotNull ConfigurationSection to) {
+        for (String key : from.getKeys(false)) {
+            final Object value = from.get(key, null);  // Does not fall back to defaults, which are shared with the copy
+            if (value == null)
+                continue;
+            if (value instanceof ConfigurationSection)
+                copySection((ConfigurationSection) value, to.createSection(key));
+            else
+                to.set(key, copyValue(value));
+            to.setComments(key, from.getComments(key));
+            to.setInlineComments(key, from.getInlineComments(key));
+        }
+    }
+
+    private static Object copyValue(Object value) {
+        if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            final List<Object> copy = new ArrayList<>(list.size());
+            for (Object element : list)
+                copy.add(copyValue(element));
+            return copy;
+        }
+        if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            final Map<Object, Object> copy = new LinkedHashMap<>(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet())
+                copy.put(entry.getKey(), copyValue(entry.getValue()));
+            return copy;
+        }
+        return value;
+    }
+
+    /*
+     * VALIDATION
+     */
+
+    /**
+     * Validates the whole configuration against the given schema in a single pass, reporting all errors at once. Should be called when the
+     * plugin is enabled, so that invalid configurations are reported before any value is used.
+     * <p>
+     * Once validated, the values checked by the schema are trusted: the getters of this class no longer test a condition for a path if it
+     * is one of the condition instances the schema checked that path against. Every subsequent reload is validated against the same
+     * schema, and is rejected if it does not match.
+     * </p>
+     *
+     * @param schema the schema.
+     * @throws PluginEnableException if the configuration does not match the schema.
+     */
+    public synchronized void validate(@NotNull ConfigSchema schema) throws PluginEnableException {
+        try {
+            snapshot = schema.validate(snapshot, file.getName());
+        } catch (ConfigValidationException ex) {
+            final List<String> lines = new ArrayList<>();
+            lines.add("Configuration file '" + file.getName() + "' contains " + ex.getErrors().size() + " error(s):");
+            for (String error : ex.getErrors())
+                lines.add(" - " + error);
+            throw new PluginEnableException(lines.toArray(new String[0]));
+        }
+        this.schema = schema;
+    }
+
+    /*
+     * BINDING
+     */
+
+    /**
+     * Binds the configuration to a new instance of the given config class. All fields of the class annotated with
+     * {@link dev.greenadine.plcommons.annotation.ConfigPath ConfigPath} are set to the values at their paths, and validated against their
+     * {@link dev.greenadine.plcommons.annotation.Range Range}, if present. The accessors of the class are built once and cached, so
+     * repeated binding does not involve reflection.
+     *
+     * @param type the config class.
+     * @param <T>  the type of the config class.
+     * @return the bound instance.
+     * @throws IllegalArgumentException    if the class is not a valid config class.
+     * @throws MissingConfigValueException if no value is set at the path of a required field.
+     * @throws InvalidConfigValueException if a value does not match the type or range of its field.
+     */
+    public <T> @NotNull T bind(@NotNull Class<T> type) {
+        return ConfigBinding.of(type).bind(snapshot);
+    }
+
+    /**
+     * Binds the configuration to a new instance of the given config class, and binds a new instance after every reload that changed the
+     * configuration. The new instance is passed to the given consumer on the thread that performed the reload. If the reloaded
+     * configuration cannot be bound, an error is logged and the consumer is not called.
+     *
+     * @param type     the config class.
+     * @param onRebind the consumer of the instances bound after reloading.
+     * @param <T>      the type of the config class.
+     * @return the instance bound to the current configuration.
+     * @throws IllegalArgumentException    if the class is not a valid config class.
+     * @throws MissingConfigValueException if no value is set at the path of a required field.
+     * @throws InvalidConfigValueException if a value does not match the type or range of its field.
+     * @see #bind(Class)
+     */
+    public <T> @NotNull T bind(@NotNull Class<T> type, @NotNull Consumer<T> onRebind) {
+        final ConfigBinding<T> binding = ConfigBinding.of(type);
+        final T instance = binding.bind(snapshot);
+        addReloadListener(changed -> {
+            final T rebound;
+            try {
+                rebound = binding.bind(snapshot);
+            } catch (RuntimeException ex) {
+                PluginLogger.severe("Failed to bind reloaded configuration to " + type.getName(), ex);
+                return;
+            }
+            onRebind.accept(rebound);
+        });
+        return instance;
+    }
+
+    /**
+     * Loads the configuration file from disk, throwing an unchecked exception if it could not be loaded.
+     *
+     * @return the loaded configuration.
+     * @throws IllegalStateException if the file could not be loaded.
+     */
+    private @NotNull YamlConfiguration loadOrThrow() {
+        try {
+            return load();
+        } catch (IOException | InvalidConfigurationException ex) {
+            throw new IllegalStateException("Failed to load configuration file '" + file.getName() + "'", ex);
+        }
+    }
+
+    /**
+     * Loads the configuration file from disk, along with the defaults from the plugin's embedded resource of the same name if enabled.
+     *
+     * @return the loaded configuration.
+     * @throws IOException                   if the file could not be read.
+     * @throws InvalidConfigurationException if the file does not contain a valid configuration.
+     */
+    private @NotNull YamlConfiguration load() throws IOException, InvalidConfigurationException {
+        // Read the file once, so that the cache is always checked against and stamped with exactly the bytes that are parsed
+        final byte[] data = file.exists() ? Files.readAllBytes(file.toPath()) : null;
+        final ConfigCache.Result cached = binaryCache && data != null ? ConfigCache.read(data, ConfigCache.getCacheFile(file)) : null;
+        final YamlConfiguration config;
+        if (cached != null) {
+            config = cached.config;
+            PluginLogger.info("Loaded " + file.getName() + " from binary cache in " + TimeUnit.NANOSECONDS.toMillis(cached.loadNanos)
+                    + " ms, saving " + TimeUnit.NANOSECONDS.toMillis(cached.parseNanos - cached.loadNanos) + " ms of parsing");
+        } else {
+            config = new YamlConfiguration();
+            if (data != null) {
+                final long start = System.nanoTime();
+                config.loadFromString(new String(data, StandardCharsets.UTF_8));
+                if (binaryCache)
+                    ConfigCache.write(file.getName(), data, ConfigCache.getCacheFile(file), config, System.nanoTime() - start);
+            }
+        }
+        ConfigDeduplicator.deduplicate(file.getName(), config, true);
+        final InputStream defaults = embeddedDefaults ? PLCommons.getPlugin().getResource(file.getName()) : null;
+        if (defaults != null) {
+            try (Reader reader = new InputStreamReader(defaults, StandardCharsets.UTF_8)) {
+                config.setDefaults(YamlConfiguration.loadConfiguration(reader));
+            }
+        }
+        return config;
+    }
 
     /*
      * OBJECTS
@@ -56,9 +629,10 @@ public class PLCConfig {
      */
     @Nullable
     public Object get(@NotNull String path) {
-        if (!config.isSet(path))
+        final ConfigSnapshot snapshot = read(path);  // Read once so both lookups use the same snapshot
+        if (!snapshot.isSet(path))
             throw new MissingConfigValueException(path);
-        return config.get(path);
+        return snapshot.get(path);
     }
 
     /**
@@ -89,7 +663,13 @@ public class PLCConfig {
      */
     @Nullable
     public Object get(@NotNull String path, @NotNull Predicate<Object> condition, @Nullable String detailsMessage) {
-        final Object value = get(path);
+        final ConfigSnapshot snapshot = read(path);
+        final ConfigSnapshot.Entry entry = snapshot.getEntry(path);
+        if (entry != null && entry.isValidatedBy(condition))
+            return entry.value;
+        if (!snapshot.isSet(path))
+            throw new MissingConfigValueException(path);
+        final Object value = snapshot.get(path);
         if (!condition.test(value))
             throw new InvalidConfigValueException(path, detailsMessage);
         return value;
@@ -105,7 +685,7 @@ public class PLCConfig {
      */
     @Contract("_, !null -> !null")
     public Object get(@NotNull String path, @Nullable Object def) {
-        return config.get(path, def);
+        return read(path).get(path, def);
     }
 
     /**
@@ -138,7 +718,11 @@ public class PLCConfig {
      */
     @Contract("_, !null, _, _ -> !null")
     public Object get(@NotNull String path, @Nullable Object def, @NotNull Predicate<Object> condition, @Nullable String detailsMessage) {
-        final Object value = get(path, def);
+        final ConfigSnapshot snapshot = read(path);
+        final ConfigSnapshot.Entry entry = snapshot.getEntry(path);
+        if (entry != null && entry.isValidatedBy(condition))
+            return entry.value;
+        final Object value = snapshot.get(path, def);
         if (!condition.test(value))
             throw new InvalidConfigValueException(path, detailsMessage);
         return value;
@@ -158,7 +742,7 @@ public class PLCConfig {
      */
     @Nullable
     public String getString(@NotNull String path) {
-        return config.getString(path);
+        return read(path).getString(path);
     }
 
     /**
@@ -191,7 +775,7 @@ public class PLCConfig {
      */
     @Nullable
     public String getString(@NotNull String path, @NotNull Predicate<String> condition, @Nullable String detailsMessage) {
-        final String value = getString(path);
+        final String value = read(path).getString(path);
         if (!condition.test(value))
             throw new InvalidConfigValueException(path, detailsMessage);
         return value;
@@ -208,7 +792,7 @@ public class PLCConfig {
      */
     @Contract("_, !null -> !null")
     public String getString(@NotNull String path, @Nullable String def) {
-        return config.getString(path, def);
+        return read(path).getString(path, def);
     }
 
     /**
@@ -244,7 +828,7 @@ public class PLCConfig {
     @Contract("_, !null, _, _ -> !null")
     public String getStringOrDefault(@NotNull String path, @Nullable String def, @NotNull Predicate<String> condition,
                                      @Nullable String detailsMessage) {
-        final String value = getString(path, def);
+        final String value = read(path).getString(path, def);
         if (!condition.test(value))
             throw new InvalidConfigValueException(path, detailsMessage);
         return value;
@@ -257,7 +841,7 @@ public class PLCConfig {
      * @return {@code true} if the value at the specified path is a string, {@code false} otherwise.
      */
     public boolean isString(@NotNull String path) {
-        return config.isString(path);
+        return read(path).get(path) instanceof String;
     }
 
     /*
@@ -271,7 +855,7 @@ public class PLCConfig {
      * @return the integer at the specified path, or {@code 0} if the specified path does not exist, or if its value is not an integer.
      */
     public int getInt(@NotNull String path) {
-        return config.getInt(path);
+        return read(path).getInt(path);
     }
 
     /**
@@ -298,10 +882,7 @@ public class PLCConfig {
      * @throws InvalidConfigValueException if the integer does not meet the specified condition.
      */
     public int getInt(@NotNull String path, @NotNull Predicate<Integer> condition, @Nullable String detailsMessage) {
-        final int value = getInt(path);
-        if (!condition.test(value))
-            throw new InvalidConfigValueException(path, detailsMessage);
-        return value;
+        return getValidInt(path, toIntPredicate(condition), detailsMessage);
     }
 
     /**
@@ -314,7 +895,7 @@ public class PLCConfig {
      * integer.
      */
     public int getInt(@NotNull String path, int def) {
-        return config.getInt(path, def);
+        return read(path).getInt(path, def);
     }
 
     /**
@@ -347,9 +928,85 @@ public class PLCConfig {
      * @throws InvalidConfigValueException if the integer does not meet the specified condition.
      */
     public int getIntOrDefault(@NotNull String path, int def, @NotNull Predicate<Integer> condition, @Nullable String detailsMessage) {
-        final int value = getInt(path, def);
+        return getValidInt(path, def, toIntPredicate(condition), detailsMessage);
+    }
+
+    /**
+     * Gets the int at the specified path in the plugin configuration. If the int does not meet the specified condition, an
+     * {@link InvalidConfigValueException} is thrown. Unlike {@link #getInt(String, Predicate)}, the value is tested without boxing it.
+     *
+     * @param path      the path to the int.
+     * @param condition the condition for the configuration value.
+     * @return the int at the specified path, or {@code 0} if the specified path does not exist, or if its value is not an int.
+     * @throws InvalidConfigValueException if the int does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public int getValidInt(@NotNull String path, @NotNull IntPredicate condition) {
+        return getValidInt(path, condition, null);
+    }
+
+    /**
+     * Gets the int at the specified path in the plugin configuration. If the int does not meet the specified condition, an
+     * {@link InvalidConfigValueException} is thrown with the specified details message. Unlike
+     * {@link #getInt(String, Predicate, String)}, the value is tested without boxing it.
+     *
+     * @param path           the path to the int.
+     * @param condition      the condition for the configuration value.
+     * @param detailsMessage the details message to display if the condition is not met, can be {@code null}.
+     * @return the int at the specified path, or {@code 0} if the specified path does not exist, or if its value is not an int.
+     * @throws InvalidConfigValueException if the int does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public int getValidInt(@NotNull String path, @NotNull IntPredicate condition, @Nullable String detailsMessage) {
+        final ConfigSnapshot snapshot = read(path);
+        final ConfigSnapshot.Entry entry = snapshot.getEntry(path);
+        if (entry != null && entry.isValidatedBy(condition) && entry.number)
+            return entry.intValue;  // Already validated against the schema
+        final int value = snapshot.getInt(path);
         if (!condition.test(value))
-            throw new InvalidConfigValueException(path, detailsMessage);
+            throw new InvalidConfigValueException(path, detailsMessage != null ? detailsMessage : ConfigValidators.describe(condition));
+        return value;
+    }
+
+    /**
+     * Gets the int at the specified path in the plugin configuration. Will return the default value if the specified path does not
+     * exist or if its value is not an int. If the int does not meet the specified condition, an {@link InvalidConfigValueException} is
+     * thrown. The value is tested without boxing it.
+     *
+     * @param path      the path to the int.
+     * @param def       the default value.
+     * @param condition the condition for the configuration value.
+     * @return the int at the specified path, or the default value if the specified path does not exist, or if its value is not an
+     * int.
+     * @throws InvalidConfigValueException if the int does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public int getValidInt(@NotNull String path, int def, @NotNull IntPredicate condition) {
+        return getValidInt(path, def, condition, null);
+    }
+
+    /**
+     * Gets the int at the specified path in the plugin configuration. Will return the default value if the specified path does not
+     * exist or if its value is not an int. If the int does not meet the specified condition, an {@link InvalidConfigValueException} is
+     * thrown with the specified details message. The value is tested without boxing it.
+     *
+     * @param path           the path to the int.
+     * @param def            the default value.
+     * @param condition      the condition for the configuration value.
+     * @param detailsMessage the details message to display if the condition is not met, can be {@code null}.
+     * @return the int at the specified path, or the default value if the specified path does not exist, or if its value is not an
+     * int.
+     * @throws InvalidConfigValueException if the int does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public int getValidInt(@NotNull String path, int def, @NotNull IntPredicate condition, @Nullable String detailsMessage) {
+        final ConfigSnapshot snapshot = read(path);
+        final ConfigSnapshot.Entry entry = snapshot.getEntry(path);
+        if (entry != null && entry.isValidatedBy(condition) && entry.number)
+            return entry.intValue;  // Already validated against the schema
+        final int value = snapshot.getInt(path, def);
+        if (!condition.test(value))
+            throw new InvalidConfigValueException(path, detailsMessage != null ? detailsMessage : ConfigValidators.describe(condition));
         return value;
     }
 
@@ -360,7 +1017,7 @@ public class PLCConfig {
      * @return {@code true} if the specified path exists and is set to an integer value, {@code false} otherwise.
      */
     public boolean isInt(@NotNull String path) {
-        return config.isInt(path);
+        return read(path).get(path) instanceof Integer;
     }
 
     /*
@@ -374,7 +1031,7 @@ public class PLCConfig {
      * @return the double at the specified path, or {@code 0} if the specified path does not exist, or its value is not a double.
      */
     public double getDouble(@NotNull String path) {
-        return config.getDouble(path);
+        return read(path).getDouble(path);
     }
 
     /**
@@ -401,10 +1058,7 @@ public class PLCConfig {
      * @throws InvalidConfigValueException if the double does not meet the specified condition.
      */
     public double getDouble(@NotNull String path, @NotNull Predicate<Double> condition, @Nullable String detailsMessage) {
-        final double value = getDouble(path);
-        if (!condition.test(value))
-            throw new InvalidConfigValueException(path, detailsMessage);
-        return value;
+        return getValidDouble(path, toDoublePredicate(condition), detailsMessage);
     }
 
     /**
@@ -416,7 +1070,7 @@ public class PLCConfig {
      * @return the double at the specified path, or the default value if the specified path does not exist, or if its value is not a double.
      */
     public double getDouble(@NotNull String path, double def) {
-        return config.getDouble(path, def);
+        return read(path).getDouble(path, def);
     }
 
     /**
@@ -447,9 +1101,85 @@ public class PLCConfig {
      * @throws InvalidConfigValueException if the double does not meet the specified condition.
      */
     public double getDouble(@NotNull String path, double def, @NotNull Predicate<Double> condition, @Nullable String detailsMessage) {
-        final double value = getDouble(path, def);
+        return getValidDouble(path, def, toDoublePredicate(condition), detailsMessage);
+    }
+
+    /**
+     * Gets the double at the specified path in the plugin configuration. If the double does not meet the specified condition, an
+     * {@link InvalidConfigValueException} is thrown. Unlike {@link #getDouble(String, Predicate)}, the value is tested without boxing it.
+     *
+     * @param path      the path to the double.
+     * @param condition the condition for the configuration value.
+     * @return the double at the specified path, or {@code 0} if the specified path does not exist, or if its value is not a double.
+     * @throws InvalidConfigValueException if the double does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public double getValidDouble(@NotNull String path, @NotNull DoublePredicate condition) {
+        return getValidDouble(path, condition, null);
+    }
+
+    /**
+     * Gets the double at the specified path in the plugin configuration. If the double does not meet the specified condition, an
+     * {@link InvalidConfigValueException} is thrown with the specified details message. Unlike
+     * {@link #getDouble(String, Predicate, String)}, the value is tested without boxing it.
+     *
+     * @param path           the path to the double.
+     * @param condition      the condition for the configuration value.
+     * @param detailsMessage the details message to display if the condition is not met, can be {@code null}.
+     * @return the double at the specified path, or {@code 0} if the specified path does not exist, or if its value is not a double.
+     * @throws InvalidConfigValueException if the double does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public double getValidDouble(@NotNull String path, @NotNull DoublePredicate condition, @Nullable String detailsMessage) {
+        final ConfigSnapshot snapshot = read(path);
+        final ConfigSnapshot.Entry entry = snapshot.getEntry(path);
+        if (entry != null && entry.isValidatedBy(condition) && entry.number)
+            return entry.doubleValue;  // Already validated against the schema
+        final double value = snapshot.getDouble(path);
         if (!condition.test(value))
-            throw new InvalidConfigValueException(path, detailsMessage);
+            throw new InvalidConfigValueException(path, detailsMessage != null ? detailsMessage : ConfigValidators.describe(condition));
+        return value;
+    }
+
+    /**
+     * Gets the double at the specified path in the plugin configuration. Will return the default value if the specified path does not
+     * exist or if its value is not a double. If the double does not meet the specified condition, an {@link InvalidConfigValueException} is
+     * thrown. The value is tested without boxing it.
+     *
+     * @param path      the path to the double.
+     * @param def       the default value.
+     * @param condition the condition for the configuration value.
+     * @return the double at the specified path, or the default value if the specified path does not exist, or if its value is not a
+     * double.
+     * @throws InvalidConfigValueException if the double does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public double getValidDouble(@NotNull String path, double def, @NotNull DoublePredicate condition) {
+        return getValidDouble(path, def, condition, null);
+    }
+
+    /**
+     * Gets the double at the specified path in the plugin configuration. Will return the default value if the specified path does not
+     * exist or if its value is not a double. If the double does not meet the specified condition, an {@link InvalidConfigValueException} is
+     * thrown with the specified details message. The value is tested without boxing it.
+     *
+     * @param path           the path to the double.
+     * @param def            the default value.
+     * @param condition      the condition for the configuration value.
+     * @param detailsMessage the details message to display if the condition is not met, can be {@code null}.
+     * @return the double at the specified path, or the default value if the specified path does not exist, or if its value is not a
+     * double.
+     * @throws InvalidConfigValueException if the double does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public double getValidDouble(@NotNull String path, double def, @NotNull DoublePredicate condition, @Nullable String detailsMessage) {
+        final ConfigSnapshot snapshot = read(path);
+        final ConfigSnapshot.Entry entry = snapshot.getEntry(path);
+        if (entry != null && entry.isValidatedBy(condition) && entry.number)
+            return entry.doubleValue;  // Already validated against the schema
+        final double value = snapshot.getDouble(path, def);
+        if (!condition.test(value))
+            throw new InvalidConfigValueException(path, detailsMessage != null ? detailsMessage : ConfigValidators.describe(condition));
         return value;
     }
 
@@ -464,7 +1194,7 @@ public class PLCConfig {
      * @return the long at the specified path, or {@code 0} if the specified path does not exist, or its value is not a long.
      */
     public long getLong(@NotNull String path) {
-        return config.getLong(path);
+        return read(path).getLong(path);
     }
 
     /**
@@ -491,10 +1221,7 @@ public class PLCConfig {
      * @throws InvalidConfigValueException if the long does not meet the specified condition.
      */
     public long getLong(@NotNull String path, @NotNull Predicate<Long> condition, @Nullable String detailsMessage) {
-        final long value = config.getLong(path);
-        if (!condition.test(value))
-            throw new InvalidConfigValueException(path, detailsMessage);
-        return value;
+        return getValidLong(path, toLongPredicate(condition), detailsMessage);
     }
 
     /**
@@ -506,7 +1233,7 @@ public class PLCConfig {
      * @return the long at the specified path, or the default value if the specified path does not exist, or if its value is not a long.
      */
     public long getLong(@NotNull String path, long def) {
-        return config.getLong(path, def);
+        return read(path).getLong(path, def);
     }
 
     /**
@@ -536,9 +1263,85 @@ public class PLCConfig {
      * @throws InvalidConfigValueException if the long does not meet the specified condition.
      */
     public long getLong(@NotNull String path, long def, @NotNull Predicate<Long> condition, @Nullable String detailsMessage) {
-        final long value = getLong(path, def);
+        return getValidLong(path, def, toLongPredicate(condition), detailsMessage);
+    }
+
+    /**
+     * Gets the long at the specified path in the plugin configuration. If the long does not meet the specified condition, an
+     * {@link InvalidConfigValueException} is thrown. Unlike {@link #getLong(String, Predicate)}, the value is tested without boxing it.
+     *
+     * @param path      the path to the long.
+     * @param condition the condition for the configuration value.
+     * @return the long at the specified path, or {@code 0} if the specified path does not exist, or if its value is not a long.
+     * @throws InvalidConfigValueException if the long does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public long getValidLong(@NotNull String path, @NotNull LongPredicate condition) {
+        return getValidLong(path, condition, null);
+    }
+
+    /**
+     * Gets the long at the specified path in the plugin configuration. If the long does not meet the specified condition, an
+     * {@link InvalidConfigValueException} is thrown with the specified details message. Unlike
+     * {@link #getLong(String, Predicate, String)}, the value is tested without boxing it.
+     *
+     * @param path           the path to the long.
+     * @param condition      the condition for the configuration value.
+     * @param detailsMessage the details message to display if the condition is not met, can be {@code null}.
+     * @return the long at the specified path, or {@code 0} if the specified path does not exist, or if its value is not a long.
+     * @throws InvalidConfigValueException if the long does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public long getValidLong(@NotNull String path, @NotNull LongPredicate condition, @Nullable String detailsMessage) {
+        final ConfigSnapshot snapshot = read(path);
+        final ConfigSnapshot.Entry entry = snapshot.getEntry(path);
+        if (entry != null && entry.isValidatedBy(condition) && entry.number)
+            return entry.longValue;  // Already validated against the schema
+        final long value = snapshot.getLong(path);
         if (!condition.test(value))
-            throw new InvalidConfigValueException(path, detailsMessage);
+            throw new InvalidConfigValueException(path, detailsMessage != null ? detailsMessage : ConfigValidators.describe(condition));
+        return value;
+    }
+
+    /**
+     * Gets the long at the specified path in the plugin configuration. Will return the default value if the specified path does not
+     * exist or if its value is not a long. If the long does not meet the specified condition, an {@link InvalidConfigValueException} is
+     * thrown. The value is tested without boxing it.
+     *
+     * @param path      the path to the long.
+     * @param def       the default value.
+     * @param condition the condition for the configuration value.
+     * @return the long at the specified path, or the default value if the specified path does not exist, or if its value is not a
+     * long.
+     * @throws InvalidConfigValueException if the long does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public long getValidLong(@NotNull String path, long def, @NotNull LongPredicate condition) {
+        return getValidLong(path, def, condition, null);
+    }
+
+    /**
+     * Gets the long at the specified path in the plugin configuration. Will return the default value if the specified path does not
+     * exist or if its value is not a long. If the long does not meet the specified condition, an {@link InvalidConfigValueException} is
+     * thrown with the specified details message. The value is tested without boxing it.
+     *
+     * @param path           the path to the long.
+     * @param def            the default value.
+     * @param condition      the condition for the configuration value.
+     * @param detailsMessage the details message to display if the condition is not met, can be {@code null}.
+     * @return the long at the specified path, or the default value if the specified path does not exist, or if its value is not a
+     * long.
+     * @throws InvalidConfigValueException if the long does not meet the specified condition.
+     * @see ConfigValidators
+     */
+    public long getValidLong(@NotNull String path, long def, @NotNull LongPredicate condition, @Nullable String detailsMessage) {
+        final ConfigSnapshot snapshot = read(path);
+        final ConfigSnapshot.Entry entry = snapshot.getEntry(path);
+        if (entry != null && entry.isValidatedBy(condition) && entry.number)
+            return entry.longValue;  // Already validated against the schema
+        final long value = snapshot.getLong(path, def);
+        if (!condition.test(value))
+            throw new InvalidConfigValueException(path, detailsMessage != null ? detailsMessage : ConfigValidators.describe(condition));
         return value;
     }
 
@@ -553,7 +1356,7 @@ public class PLCConfig {
      * @return the boolean at the specified path, or {@code false} if the specified path does not exist, or its value is not a boolean.
      */
     public boolean getBoolean(@NotNull String path) {
-        return config.getBoolean(path);
+        return read(path).getBoolean(path);
     }
 
     /**
@@ -580,7 +1383,7 @@ public class PLCConfig {
      * @throws InvalidConfigValueException if the boolean does not meet the specified condition.
      */
     public boolean getBoolean(@NotNull String path, @NotNull Predicate<Boolean> condition, @Nullable String detailsMessage) {
-        final boolean value = getBoolean(path);
+        final boolean value = read(path).getBoolean(path);
         if (!condition.test(value))
             throw new InvalidConfigValueException(path, detailsMessage);
         return value;
@@ -594,7 +1397,7 @@ public class PLCConfig {
      * @return the boolean at the specified path, or the default value if the specified path does not exist, or its value is not a boolean.
      */
     public boolean getBoolean(@NotNull String path, boolean def) {
-        return config.getBoolean(path, def);
+        return read(path).getBoolean(path, def);
     }
 
     /**
@@ -625,7 +1428,7 @@ public class PLCConfig {
      * @throws InvalidConfigValueException if the boolean does not meet the specified condition.
      */
     public boolean getBoolean(@NotNull String path, boolean def, @NotNull Predicate<Boolean> condition, @Nullable String detailsMessage) {
-        final boolean value = getBoolean(path, def);
+        final boolean value = read(path).getBoolean(path, def);
         if (!condition.test(value))
             throw new InvalidConfigValueException(path, detailsMessage);
         return value;
@@ -638,7 +1441,7 @@ public class PLCConfig {
      * @return {@code true} if the value at the specified path is a boolean, {@code false} otherwise.
      */
     public boolean isBoolean(@NotNull String path) {
-        return config.isBoolean(path);
+        return read(path).get(path) instanceof Boolean;
     }
 
     /*
@@ -656,7 +1459,7 @@ public class PLCConfig {
         final List<T> list;
         try {
             //noinspection unchecked
-            list = new ArrayList<>((List<T>) Objects.requireNonNull(config.getList(path)));
+            list = new ArrayList<>((List<T>) Objects.requireNonNull(read(path).getList(path)));
         } catch (Exception ex) {
             return Collections.emptyList();
         }
@@ -674,7 +1477,7 @@ public class PLCConfig {
         final Set<T> set;
         try {
             //noinspection unchecked
-            set = new HashSet<>((List<T>) Objects.requireNonNull(config.getList(path)));
+            set = new HashSet<>((List<T>) Objects.requireNonNull(read(path).getList(path)));
         } catch (Exception ex) {
             return Collections.emptySet();
         }
@@ -688,7 +1491,7 @@ public class PLCConfig {
      * @return the list at the specified path, or an empty list if the specified path does not exist, or its value is not a list.
      */
     public @NotNull List<Map<?, ?>> getMapList(@NotNull String path) {
-        return config.getMapList(path);
+        return read(path).getMapList(path);
     }
 
     /**
@@ -698,7 +1501,7 @@ public class PLCConfig {
      * @return {@code true} if the value at the specified path is a list, {@code false} otherwise.
      */
     public boolean isList(@NotNull String path) {
-        return config.isList(path);
+        return read(path).get(path) instanceof List;
     }
 
     /*
@@ -706,15 +1509,41 @@ public class PLCConfig {
      */
 
     /**
-     * Gets the section at the specified path in the plugin configuration.
+     * Gets the section at the specified path in the plugin configuration. The section is copied into a new map on every call, prefer
+     * {@link #getView(String)} to read values from large sections.
      *
      * @param path the path to the section.
      * @return the section at the specified path, or an empty map if the specified path does not exist, or its value is not a section.
      */
     public @NotNull Map<String, Object> getSection(@NotNull String path) {
-        if (!config.isConfigurationSection(path))
+        final ConfigurationSection section = read(path).getSection(path);
+        if (section == null)
             return Collections.emptyMap();
-        return Objects.requireNonNull(config.getConfigurationSection(path)).getValues(true);
+        return section.getValues(true);
+    }
+
+    /**
+     * Gets a read-only view of the section at the specified path in the plugin configuration. The view does not copy the section, and
+     * always reflects the current configuration.
+     *
+     * @param path the path to the section, or an empty string for the root section.
+     * @return the view, which is empty if the specified path does not exist, or its value is not a section.
+     */
+    public @NotNull ConfigView getView(@NotNull String path) {
+        return new ConfigView(this, path, null);
+    }
+
+    /**
+     * Gets a read-only view of the section at the specified path in the plugin configuration, overlaid on the given fallback values. Values
+     * that are not set in the section, nor in the configuration's defaults, are read from the fallback values instead. Neither the
+     * section nor the fallback values are copied.
+     *
+     * @param path     the path to the section, or an empty string for the root section.
+     * @param fallback the fallback values, with nested sections as maps.
+     * @return the view.
+     */
+    public @NotNull ConfigView getView(@NotNull String path, @NotNull Map<String, Object> fallback) {
+        return new ConfigView(this, path, fallback);
     }
 
     /**
@@ -724,7 +1553,7 @@ public class PLCConfig {
      * @return {@code true} if the value at the specified path is a section, {@code false} otherwise.
      */
     public boolean isSection(@NotNull String path) {
-        return config.isConfigurationSection(path);
+        return read(path).getSection(path) != null;
     }
 
     /**
@@ -737,9 +1566,7 @@ public class PLCConfig {
      */
     @Contract("_, !null -> !null")
     public Map<String, Object> getSection(@NotNull String path, @Nullable Map<String, Object> def) {
-        if (!config.isConfigurationSection(path))
-            return def;
-        final ConfigurationSection section = config.getConfigurationSection(path);
+        final ConfigurationSection section = read(path).getSection(path);
         if (section == null)
             return def;
         final Map<String, Object> map = section.getValues(true);
@@ -795,15 +1622,19 @@ public class PLCConfig {
      */
     @Contract("_, _, false -> !null")
     public <T> T parse(@NotNull String path, @NotNull Function<String, T> parser, boolean optional) throws InvalidConfigValueException {
-        if (!isString(path)) {
+        final Object value = read(path).get(path);
+        if (!(value instanceof String)) {
             if (optional) return null;
             else throw new MissingConfigValueException(path);
         }
+        final long start = startTiming();
         try {
-            return parser.apply(Objects.requireNonNull(getString(path)));
+            return parser.apply((String) value);
         } catch (Exception ex) {
             if (optional) return null;
             else throw new InvalidConfigValueException("Failed to parse value at path '" + path + "' from config", ex);
+        } finally {
+            stopTiming(path, start);
         }
     }
 
@@ -819,12 +1650,16 @@ public class PLCConfig {
      */
     @Contract("_, _, !null -> !null")
     public <T> T parse(@NotNull String path, @NotNull Function<String, T> parser, @Nullable T def) {
-        if (!isString(path))
+        final Object value = read(path).get(path);
+        if (!(value instanceof String))
             return def;
+        final long start = startTiming();
         try {
-            return parser.apply(Objects.requireNonNull(getString(path)));
+            return parser.apply((String) value);
         } catch (Exception ex) {
             return def;
+        } finally {
+            stopTiming(path, start);
         }
     }
 
@@ -856,15 +1691,19 @@ public class PLCConfig {
      */
     @Contract("_, _, false -> !null")
     public <T> T deserialize(@NotNull String path, @NotNull Function<Map<String, Object>, T> deserializer, boolean optional) {
-        if (!config.isConfigurationSection(path)) {
+        final ConfigurationSection section = read(path).getSection(path);
+        if (section == null) {
             if (optional) return null;
             else throw new MissingConfigValueException(path);
         }
+        final long start = startTiming();
         try {
-            return deserializer.apply(Objects.requireNonNull(config.getConfigurationSection(path)).getValues(false));
+            return deserializer.apply(section.getValues(false));
         } catch (Exception ex) {
             if (optional) return null;
             else throw new InvalidConfigValueException("Failed to deserialize value at path '" + path + "' from config", ex);
+        } finally {
+            stopTiming(path, start);
         }
     }
 
@@ -880,12 +1719,16 @@ public class PLCConfig {
      */
     @Contract("_, _, !null -> !null")
     public <T> T deserialize(@NotNull String path, @NotNull Function<Map<?, ?>, T> deserializer, @Nullable T def) {
-        if (!config.isConfigurationSection(path))
+        final ConfigurationSection section = read(path).getSection(path);
+        if (section == null)
             return def;
+        final long start = startTiming();
         try {
-            return deserializer.apply(Objects.requireNonNull(config.getConfigurationSection(path)).getValues(false));
+            return deserializer.apply(section.getValues(false));
         } catch (Exception ex) {
             return def;
+        } finally {
+            stopTiming(path, start);
         }
     }
 
@@ -912,6 +1755,433 @@ public class PLCConfig {
         return list;
     }
 
+    /**
+     * Gets a list of objects at the specified path in the plugin configuration that are deserialized on demand. Nothing is deserialized
+     * until an entry is accessed, which makes this suited for large lists of which only some entries are used. Entries that cannot be
+     * deserialized are recorded by index instead of failing the whole list.
+     *
+     * @param path         the path to the list.
+     * @param deserializer the deserializer function.
+     * @param <T>          the type of the deserialized objects.
+     * @return a lazily deserialized list, which is empty if the specified path does not exist, or its value is not a list.
+     * @see DeserializedList
+     */
+    @NotNull
+    public <T> DeserializedList<T> deserializeListLazy(@NotNull String path, @NotNull Function<Map<?, ?>, T> deserializer) {
+        final List<?> source = read(path).getList(path);
+        return new DeserializedList<>(path, source != null ? source : Collections.emptyList(), deserializer);
+    }
+
+    /**
+     * Gets a list of deserialized objects at the specified path in the plugin configuration, deserializing the entries in parallel on the
+     * common pool. Unlike {@link #deserializeList(String, Function)}, this does not abort on the first entry that cannot be deserialized:
+     * the errors of all such entries are collected in {@link DeserializedList#getErrors()}.
+     *
+     * @param path         the path to the list.
+     * @param deserializer the deserializer function, which must be thread-safe.
+     * @param <T>          the type of the deserialized objects.
+     * @return the deserialized list, which is empty if the specified path does not exist, or its value is not a list.
+     */
+    @NotNull
+    public <T> DeserializedList<T> deserializeListParallel(@NotNull String path, @NotNull Function<Map<?, ?>, T> deserializer) {
+        return deserializeListLazy(path, deserializer).deserializeAll();
+    }
+
+    /**
+     * Gets a list of deserialized objects at the specified path in the plugin configuration, deserializing the entries in parallel on the
+     * given pool. Unlike {@link #deserializeList(String, Function)}, this does not abort on the first entry that cannot be deserialized:
+     * the errors of all such entries are collected in {@link DeserializedList#getErrors()}.
+     *
+     * @param path         the path to the list.
+     * @param deserializer the deserializer function, which must be thread-safe.
+     * @param pool         the pool to deserialize on.
+     * @param <T>          the type of the deserialized objects.
+     * @return the deserialized list, which is empty if the specified path does not exist, or its value is not a list.
+     */
+    @NotNull
+    public <T> DeserializedList<T> deserializeListParallel(@NotNull String path, @NotNull Function<Map<?, ?>, T> deserializer,
+                                                           @NotNull ForkJoinPool pool) {
+        return deserializeListLazy(path, deserializer).deserializeAll(pool);
+    }
+
+    /**
+     * Streams the deserialized objects at the specified path in the plugin configuration, deserializing each entry as the stream reaches
+     * it. Entries that cannot be deserialized are skipped.
+     *
+     * @param path         the path to the list.
+     * @param deserializer the deserializer function, which must be thread-safe if the stream is parallel.
+     * @param parallel     {@code true} for a parallel stream, {@code false} otherwise.
+     * @param <T>          the type of the deserialized objects.
+     * @return the stream, which is empty if the specified path does not exist, or its value is not a list.
+     */
+    @NotNull
+    public <T> Stream<T> streamList(@NotNull String path, @NotNull Function<Map<?, ?>, T> deserializer, boolean parallel) {
+        return deserializeListLazy(path, deserializer).stream(parallel);
+    }
+
+    /*
+     * MEMOIZATION
+     */
+
+    /**
+     * Parses the specified path in the plugin configuration using the specified parser, memoizing the result. Subsequent calls with the
+     * same path and the same parser instance return the memoized result without running the parser again, until the value at the path
+     * changes through a reload.
+     * <p>
+     * Results are keyed by the identity of the parser, so the parser should be a constant, such as a method reference or a lambda that does
+     * not capture any variables, or be stored in a field.
+     * </p>
+     *
+     * @param path   the path to parse.
+     * @param parser the parser function.
+     * @param <T>    the type of the parsed value.
+     * @return the parsed value.
+     * @throws MissingConfigValueException if there is no string value set at the specified path.
+     * @throws InvalidConfigValueException if the value could not be parsed.
+     * @see #parse(String, Function)
+     */
+    @NotNull
+    public <T> T parseCached(@NotNull String path, @NotNull Function<String, T> parser) {
+        final Object cached = getMemoized(path, parser);
+        if (cached != null)
+            return unwrapMemoized(cached);
+        final ConfigSnapshot snapshot = this.snapshot;
+        return memoize(path, parser, snapshot, parse(path, parser));
+    }
+
+    /**
+     * Gets a deserialized object at the specified path in the plugin configuration, memoizing the result. Subsequent calls with the same
+     * path and the same deserializer instance return the memoized result without copying the section or running the deserializer again,
+     * until a value within the section changes through a reload.
+     * <p>
+     * Results are keyed by the identity of the deserializer, so the deserializer should be a constant, such as a method reference or a
+     * lambda that does not capture any variables, or be stored in a field.
+     * </p>
+     *
+     * @param path         the path to the section.
+     * @param deserializer the deserializer function.
+     * @param <T>          the type of the deserialized object.
+     * @return the deserialized object at the specified path.
+     * @throws MissingConfigValueException if there is no section at the specified path.
+     * @throws InvalidConfigValueException if the section could not be deserialized.
+     * @see #deserialize(String, Function)
+     */
+    @NotNull
+    public <T> T deserializeCached(@NotNull String path, @NotNull Function<Map<String, Object>, T> deserializer) {
+        final Object cached = getMemoized(path, deserializer);
+        if (cached != null)
+            return unwrapMemoized(cached);
+        final ConfigSnapshot snapshot = this.snapshot;
+        return memoize(path, deserializer, snapshot, deserialize(path, deserializer));
+    }
+
+    /**
+     * Eagerly parses and memoizes the specified path, so that the first call to {@link #parseCached(String, Function)} on a hot path does not
+     * have to parse it. Should be called when the plugin is enabled, which also causes invalid values to be reported early.
+     *
+     * @param path   the path to parse.
+     * @param parser the parser function.
+     * @throws MissingConfigValueException if there is no string value set at the specified path.
+     * @throws InvalidConfigValueException if the value could not be parsed.
+     */
+    public void warmUpParse(@NotNull String path, @NotNull Function<String, ?> parser) {
+        parseCached(path, parser);
+    }
+
+    /**
+     * Eagerly deserializes and memoizes the specified path, so that the first call to {@link #deserializeCached(String, Function)} on a hot
+     * path does not have to deserialize it. Should be called when the plugin is enabled, which also causes invalid values to be reported
+     * early.
+     *
+     * @param path         the path to the section.
+     * @param deserializer the deserializer function.
+     * @throws MissingConfigValueException if there is no section at the specified path.
+     * @throws InvalidConfigValueException if the section could not be deserialized.
+     */
+    public void warmUpDeserialize(@NotNull String path, @NotNull Function<Map<String, Object>, ?> deserializer) {
+        deserializeCached(path, deserializer);
+    }
+
+    /**
+     * Gets the number of memoized lookups that returned a memoized result.
+     *
+     * @return the number of hits.
+     */
+    public long getMemoHits() {
+        return memoHits.sum();
+    }
+
+    /**
+     * Gets the number of memoized lookups that had to compute their result.
+     *
+     * @return the number of misses.
+     */
+    public long getMemoMisses() {
+        return memoMisses.sum();
+    }
+
+    /*
+     * INSTRUMENTATION
+     */
+
+    /**
+     * Enables instrumentation of this configuration, recording how often each path is read and how long parsing and deserializing takes
+     * per path. This helps finding paths that are read so often from hot code that they should be stored in a field or cache instead. The
+     * counters are striped, so recording adds little overhead even when reading from many threads, but instrumentation should not be left
+     * enabled permanently.
+     * <p>
+     * Reads through a {@link ConfigView} are counted under the path of the view's section rather than the full path of each value, so that
+     * reading from a view still does not allocate.
+     * </p>
+     */
+    public synchronized void enableInstrumentation() {
+        if (stats == null)
+            stats = new ConfigStats();
+    }
+
+    /**
+     * Disables instrumentation of this configuration, discarding all recorded statistics.
+     */
+    public synchronized void disableInstrumentation() {
+        stats = null;
+    }
+
+    /**
+     * Checks whether instrumentation of this configuration is enabled.
+     *
+     * @return {@code true} if instrumentation is enabled, {@code false} otherwise.
+     */
+    public boolean isInstrumented() {
+        return stats != null;
+    }
+
+    /**
+     * Resets the statistics recorded so far, if instrumentation is enabled.
+     */
+    public void resetInstrumentation() {
+        final ConfigStats stats = this.stats;
+        if (stats != null)
+            stats.reset();
+    }
+
+    /**
+     * Gets a report of the most read paths, and of the paths that took the longest to parse or deserialize in total.
+     *
+     * @param limit the maximum number of paths to list in each part of the report.
+     * @return the lines of the report, which is empty if instrumentation is not enabled.
+     */
+    public @NotNull List<String> getInstrumentationReport(int limit) {
+        final ConfigStats stats = this.stats;
+        return stats != null ? stats.report(limit) : Collections.emptyList();
+    }
+
+    /**
+     * Sends a report of the most read paths, and of the paths that took the longest to parse or deserialize in total, to the given
+     * sender. Intended to be called from a command of the plugin.
+     *
+     * @param sender the sender to send the report to.
+     * @param limit  the maximum number of paths to list in each part of the report.
+     */
+    public void sendInstrumentationReport(@NotNull CommandSender sender, int limit) {
+        final List<String> report = getInstrumentationReport(limit);
+        if (report.isEmpty()) {
+            sender.sendMessage("Instrumentation of " + file.getName() + " is not enabled.");
+            return;
+        }
+        for (String line : report)
+            sender.sendMessage(line);
+    }
+
+    /**
+     * Enables instrumentation, and logs the report periodically on a worker thread.
+     *
+     * @param periodTicks the period between reports in ticks.
+     * @param limit       the maximum number of paths to list in each part of the report.
+     * @return the task logging the report, which should be cancelled to stop logging.
+     */
+    public @NotNull BukkitTask logInstrumentationPeriodically(long periodTicks, int limit) {
+        enableInstrumentation();
+        return Scheduling.runTimerAsync(periodTicks, periodTicks, () -> {
+            final List<String> report = getInstrumentationReport(limit);
+            if (!report.isEmpty())
+                PluginLogger.info("Instrumentation of " + file.getName() + ":\n" + String.join("\n", report));
+        });
+    }
+
+    /*
+     * INTERNAL
+     */
+
+    /**
+     * Gets the current snapshot to read the given path from, recording the read if instrumentation is enabled.
+     *
+     * @param path the path that is read.
+     * @return the snapshot.
+     */
+    @NotNull ConfigSnapshot read(@NotNull String path) {
+        final ConfigStats stats = this.stats;
+        if (stats != null)
+            stats.recordRead(path);
+        return snapshot;
+    }
+
+    private long startTiming() {
+        return stats != null ? System.nanoTime() : 0L;
+    }
+
+    private void stopTiming(@NotNull String path, long start) {
+        final ConfigStats stats = this.stats;
+        if (stats != null && start != 0L)
+            stats.recordTiming(path, System.nanoTime() - start);
+    }
+
+    /**
+     * A published snapshot, along with the snapshot it replaced and the paths that changed.
+     */
+    private static final class Publication {
+
+        private final ConfigSnapshot previous;
+        private final ConfigSnapshot next;
+        private final Set<String> changed;
+
+        private Publication(@NotNull ConfigSnapshot previous, @NotNull ConfigSnapshot next, @NotNull Set<String> changed) {
+            this.previous = previous;
+            this.next = next;
+            this.changed = changed;
+        }
+    }
+
+    private static final class ChangeSubscription {
+
+        private final ConfigPathPattern pattern;
+        private final Consumer<ConfigChange> listener;
+
+        private ChangeSubscription(@NotNull ConfigPathPattern pattern, @NotNull Consumer<ConfigChange> listener) {
+            this.pattern = pattern;
+            this.listener = listener;
+        }
+
+        /**
+         * Notifies the listener of the changed paths that match the pattern, if any.
+         *
+         * @param changed  all changed paths.
+         * @param previous the snapshot before the reload.
+         * @param next     the snapshot after the reload.
+         */
+        private void notify(@NotNull Set<String> changed, @NotNull ConfigSnapshot previous, @NotNull ConfigSnapshot next) {
+            Set<String> matched = null;
+            for (String path : changed) {
+                final String match = pattern.match(path);
+                if (match == null)
+                    continue;
+                if (matched == null)
+                    matched = new LinkedHashSet<>();
+                matched.add(match);
+            }
+            if (matched == null)
+                return;
+            try {
+                listener.accept(new ConfigChange(pattern.toString(), matched, previous, next));
+            } catch (Throwable thrown) {
+                PluginLogger.severe("Failed to handle config change of '" + pattern + "'", thrown);
+            }
+        }
+    }
+
+    /**
+     * Gets the memoized result for the given path and function.
+     *
+     * @param path     the path.
+     * @param function the function.
+     * @return the memoized result, or {@code null} if there is no memoized result.
+     */
+    private @Nullable Object getMemoized(@NotNull String path, @NotNull Function<?, ?> function) {
+        final Map<Function<?, ?>, Object> results = memoized.get(path);
+        final Object result = results != null ? results.get(function) : null;
+        if (result != null)
+            memoHits.increment();
+        else
+            memoMisses.increment();
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unwrapMemoized(@NotNull Object result) {
+        return result == MEMOIZED_NULL ? null : (T) result;
+    }
+
+    /**
+     * Memoizes a result computed from the given snapshot.
+     *
+     * @param path     the path.
+     * @param function the function.
+     * @param snapshot the snapshot the result was computed from.
+     * @param result   the result.
+     * @param <T>      the type of the result.
+     * @return the result.
+     */
+    private <T> T memoize(@NotNull String path, @NotNull Function<?, ?> function, @NotNull ConfigSnapshot snapshot, @Nullable T result) {
+        memoized.computeIfAbsent(path, k -> new ConcurrentHashMap<>()).put(function, result != null ? result : MEMOIZED_NULL);
+        if (this.snapshot != snapshot)
+            memoized.remove(path);  // A new snapshot was published meanwhile, so the result may be stale
+        return result;
+    }
+
+    /**
+     * Invalidates the memoized results for the given changed paths, and for all their parent sections.
+     *
+     * @param changed   the changed paths.
+     * @param separator the path separator.
+     */
+    private void invalidateMemoized(@NotNull Set<String> changed, char separator) {
+        if (memoized.isEmpty())
+            return;
+        for (String path : changed) {
+            memoized.remove(path);
+            for (int index = path.lastIndexOf(separator); index > 0; index = path.lastIndexOf(separator, index - 1))
+                memoized.remove(path.substring(0, index));
+        }
+    }
+
+    /**
+     * Converts a boxed predicate to a primitive one. Validators from {@link ConfigValidators} are used as-is, so they do not box the value.
+     *
+     * @param condition the boxed predicate.
+     * @return the primitive predicate.
+     */
+    private static @NotNull IntPredicate toIntPredicate(@NotNull Predicate<Integer> condition) {
+        return condition instanceof IntPredicate ? (IntPredicate) condition : condition::test;
+    }
+
+    /**
+     * Converts a boxed predicate to a primitive one. Validators from {@link ConfigValidators} are used as-is, so they do not box the value.
+     *
+     * @param condition the boxed predicate.
+     * @return the primitive predicate.
+     */
+    private static @NotNull LongPredicate toLongPredicate(@NotNull Predicate<Long> condition) {
+        return condition instanceof LongPredicate ? (LongPredicate) condition : condition::test;
+    }
+
+    /**
+     * Converts a boxed predicate to a primitive one. Validators from {@link ConfigValidators} are used as-is, so they do not box the value.
+     *
+     * @param condition the boxed predicate.
+     * @return the primitive predicate.
+     */
+    private static @NotNull DoublePredicate toDoublePredicate(@NotNull Predicate<Double> condition) {
+        return condition instanceof DoublePredicate ? (DoublePredicate) condition : condition::test;
+    }
+
+    /**
+     * Gets the current snapshot of the configuration.
+     *
+     * @return the snapshot.
+     */
+    @NotNull ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     /**
      * Checks if the plugin configuration contains the specified path.
      *
@@ -919,6 +2189,6 @@ public class PLCConfig {
      * @return {@code true} if the plugin configuration contains the specified path, {@code false} otherwise.
      */
     public boolean contains(@NotNull String path) {
-        return config.contains(path);
+        return read(path).contains(path);
     }
 }
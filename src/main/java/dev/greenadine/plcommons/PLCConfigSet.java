@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A set of configuration files within a directory, such as one file per arena, kit or shop, each of which is exposed as a {@link PLCConfig}.
+ * <p>
+ * Files that are used frequently can be loaded eagerly, in parallel, using {@link #loadAll()}; these remain loaded. Any other file is loaded
+ * on demand when it is first requested through {@link #get(String)}, and is kept in a bounded least-recently-used cache, so that rarely used
+ * files do not stay in memory.
+ * </p>
+ * <p>
+ * Files are identified by their name without the {@code .yml} or {@code .yaml} extension. Unlike a standalone {@link PLCConfig}, the files
+ * do not load defaults from the plugin's embedded resources, as their names may collide with those of the plugin's own files. Files with
+ * unsaved changes are saved before they are unloaded or evicted from the cache. This class is safe to use from multiple threads.
+ * </p>
+ *
+ * @since 0.1
+ */
+public class PLCConfigSet {
+
+    private static final int DEFAULT_MAX_LAZY_LOADED = 64;
+
+    private final File directory;
+    private final boolean binaryCache;
+    private final Map<String, PLCConfig> loaded = new ConcurrentHashMap<>();
+    private final Map<String, PLCConfig> lazyLoaded;
+
+    /**
+     * Creates a new config set for the given directory, keeping at most 64 lazily loaded files in memory.
+     *
+     * @param directory the directory containing the configuration files.
+     */
+    public PLCConfigSet(@NotNull File directory) {
+        this(directory, DEFAULT_MAX_LAZY_LOADED, false);
+    }
+
+    /**
+     * Creates a new config set for the given directory.
+     *
+     * @param directory     the directory containing the configuration files.
+     * @param maxLazyLoaded the maximum number of lazily loaded files to keep in memory.
+     * @param binaryCache   {@code true} to enable the binary cache for the files, {@code false} otherwise.
+     * @see PLCConfig#PLCConfig(File, boolean)
+     */
+    public PLCConfigSet(@NotNull File directory, int maxLazyLoaded, boolean binaryCache) {
+        Preconditions.checkArgument(maxLazyLoaded >= 0, "Maximum number of lazily loaded files cannot be negative");
+        this.directory = directory;
+        this.binaryCache = binaryCache;
+        this.lazyLoaded = Collections.synchronizedMap(new LinkedHashMap<String, PLCConfig>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PLCConfig> eldest) {
+                return size() > maxLazyLoaded && save(eldest.getKey(), eldest.getValue());  // Kept in memory if it could not be saved
+            }
+        });
+    }
+
+    /**
+     * Loads all configuration files in the directory in parallel, keeping them loaded. Blocks until all files have been loaded, and reports
+     * all files that could not be loaded at once.
+     *
+     * @return this config set.
+     * @throws PluginEnableException if any of the files could not be loaded.
+     */
+    public @NotNull PLCConfigSet loadAll() throws PluginEnableException {
+        return loadAll(name -> true);
+    }
+
+    /**
+     * Loads the configuration files in the directory that match the given filter in parallel, keeping them loaded. Blocks until all files
+     * have been loaded, and reports all files that could not be loaded at once.
+     *
+     * @param filter the filter for the names of the files to load.
+     * @return this config set.
+     * @throws PluginEnableException if any of the files could not be loaded.
+     */
+    public @NotNull PLCConfigSet loadAll(@NotNull Predicate<String> filter) throws PluginEnableException {
+        final Map<String, CompletableFuture<PLCConfig>> futures = new LinkedHashMap<>();
+        for (String name : getNames()) {
+            if (filter.test(name) && !loaded.containsKey(name))
+                futures.put(name, CompletableFuture.supplyAsync(() -> new PLCConfig(getFile(name), binaryCache, false)));
+        }
+
+        final List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<PLCConfig>> entry : futures.entrySet()) {
+            try {
+                loaded.put(entry.getKey(), entry.getValue().join());
+                lazyLoaded.remove(entry.getKey());
+            } catch (CompletionException ex) {
+                final Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                PluginLogger.severe("Failed to load configuration file '" + entry.getKey() + "'", cause);
+                errors.add(" - " + entry.getKey() + ": " + cause.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            errors.add(0, errors.size() + " configuration file(s) in '" + directory.getName() + "' could not be loaded:");
+            throw new PluginEnableException(errors.toArray(new String[0]));
+        }
+        return this;
+    }
+
+    /**
+     * Gets the configuration file with the given name, loading it if it is not loaded yet.
+     *
+     * @param name the name of the file, without extension.
+     * @return the configuration.
+     * @throws IllegalArgumentException if there is no file with the given name.
+     * @throws IllegalStateException    if the file could not be loaded.
+     */
+    public @NotNull PLCConfig get(@NotNull String name) {
+        final PLCConfig config = getIfLoaded(name);
+        if (config != null)
+            return config;
+        final File file = getFile(name);
+        Preconditions.checkArgument(file.isFile(), "Configuration file '%s' does not exist", name);
+        final PLCConfig created = new PLCConfig(file, binaryCache, false);
+        synchronized (lazyLoaded) {
+            final PLCConfig existing = lazyLoaded.putIfAbsent(name, created);  // Another thread may have loaded it meanwhile
+            return existing != null ? existing : created;
+        }
+    }
+
+    /**
+     * Gets the configuration file with the given name, if it is currently loaded.
+     *
+     * @param name the name of the file, without extension.
+     * @return the configuration, or {@code null} if the file is not loaded.
+     */
+    public @Nullable PLCConfig getIfLoaded(@NotNull String name) {
+        final PLCConfig config = loaded.get(name);
+        return config != null ? config : lazyLoaded.get(name);
+    }
+
+    /**
+     * Checks whether a configuration file with the given name exists in the directory.
+     *
+     * @param name the name of the file, without extension.
+     * @return {@code true} if the file exists, {@code false} otherwise.
+     */
+    public boolean contains(@NotNull String name) {
+        return loaded.containsKey(name) || getFile(name).isFile();
+    }
+
+    /**
+     * Gets the names of all configuration files in the directory, without extension.
+     *
+     * @return the names, in alphabetical order.
+     */
+    public @NotNull Set<String> getNames() {
+        final Set<String> names = new TreeSet<>();
+        final File[] files = directory.listFiles();
+        if (files == null)
+            return names;
+        for (File file : files) {
+            final String name = getName(file);
+            if (name != null && file.isFile())
+                names.add(name);
+        }
+        return names;
+    }
+
+    /**
+     * Reloads all loaded configuration files. Lazily loaded files are unloaded instead, to be reloaded on their next use. Lazily loaded files
+     * with unsaved changes are saved first, and are kept loaded if they could not be saved.
+     *
+     * @throws IllegalStateException if any of the loaded files could not be reloaded.
+     */
+    public void reload() {
+        synchronized (lazyLoaded) {
+            lazyLoaded.entrySet().removeIf(entry -> save(entry.getKey(), entry.getValue()));
+        }
+        for (PLCConfig config : loaded.values())
+            config.reload();
+    }
+
+    /**
+     * Unloads the configuration file with the given name, if it is loaded. Unsaved changes are saved first.
+     *
+     * @param name the name of the file, without extension.
+     * @throws IllegalStateException if the file has unsaved changes that could not be saved, in which case it stays loaded.
+     */
+    public void unload(@NotNull String name) {
+        synchronized (lazyLoaded) {
+            final PLCConfig config = getIfLoaded(name);
+            if (config != null && !save(name, config))
+                throw new IllegalStateException("Failed to save configuration file '" + name + "' before unloading it");
+            loaded.remove(name);
+            lazyLoaded.remove(name);
+        }
+    }
+
+    /**
+     * Gets the directory containing the configuration files.
+     *
+     * @return the directory.
+     */
+    public @NotNull File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Saves the unsaved changes of a configuration that is about to be dropped, so that they are not lost and no second instance of the
+     * same file is created while the first one still has a write pending.
+     *
+     * @param name   the name of the file, without extension.
+     * @param config the configuration.
+     * @return {@code true} if the configuration has no unsaved changes left and can be dropped, {@code false} otherwise.
+     */
+    private static boolean save(@NotNull String name, @NotNull PLCConfig config) {
+        try {
+            config.flush();  // Also waits for a write that is still in progress
+            return true;
+        } catch (IOException ex) {
+            PluginLogger.severe("Failed to save configuration file '" + name + "'", ex);
+            return false;
+        }
+    }
+
+    private @NotNull File getFile(@NotNull String name) {
+        final File yaml = new File(directory, name + ".yaml");
+        return yaml.isFile() ? yaml : new File(directory, name + ".yml");
+    }
+
+    private static @Nullable String getName(@NotNull File file) {
+        final String fileName = file.getName();
+        if (fileName.endsWith(".yml"))
+            return fileName.substring(0, fileName.length() - 4);
+        if (fileName.endsWith(".yaml"))
+            return fileName.substring(0, fileName.length() - 5);
+        return null;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Watches files for changes using a {@link WatchService}, running callbacks on a background thread.
+ * <p>
+ * Changes are debounced per file: editors often write a file in several steps, so a callback is only run once the file has not changed for
+ * the configured debounce delay. The watcher is closed automatically when the plugin is disabled.
+ * </p>
+ *
+ * @since 0.1
+ */
+public class PLCFileWatcher implements Closeable {
+
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 500L;
+
+    private final WatchService watchService;
+    private final long debounceMillis;
+    private final Map<Path, List<Registration>> registrations = new ConcurrentHashMap<>();
+    private final Map<Path, AtomicReference<ScheduledFuture<?>>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "PLCommons File Watcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Thread watchThread;
+    private boolean closed;
+
+    /**
+     * Creates a new file watcher with the default debounce delay of 500 milliseconds.
+     *
+     * @throws IOException if the watch service could not be created.
+     */
+    public PLCFileWatcher() throws IOException {
+        this(DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Creates a new file watcher.
+     *
+     * @param debounceMillis the time in milliseconds a file must remain unchanged before its callbacks are run.
+     * @throws IOException if the watch service could not be created.
+     */
+    public PLCFileWatcher(long debounceMillis) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.debounceMillis = debounceMillis;
+        PLCommons.getPlugin().addDisableHook(this::close);
+    }
+
+    /**
+     * Watches a single file for changes.
+     *
+     * @param file     the file to watch.
+     * @param callback the callback to run after the file has changed.
+     * @throws IOException           if the directory of the file could not be watched.
+     * @throws IllegalStateException if the watcher has been closed.
+     */
+    public void watch(@NotNull Path file, @NotNull Runnable callback) throws IOException {
+        final Path target = file.toAbsolutePath().normalize();
+        Preconditions.checkArgument(target.getParent() != null, "File cannot be a root directory");
+        watchDirectory(target.getParent(), target::equals, changed -> callback.run());
+    }
+
+    /**
+     * Watches the files within a directory for changes.
+     *
+     * @param directory the directory to watch.
+     * @param filter    the filter for the files to run the callback for.
+     * @param callback  the callback to run with the path of a file that has changed.
+     * @throws IOException           if the directory could not be watched.
+     * @throws IllegalStateException if the watcher has been closed.
+     */
+    public synchronized void watchDirectory(@NotNull Path directory, @NotNull Predicate<Path> filter, @NotNull Consumer<Path> callback)
+            throws IOException {
+        Preconditions.checkState(!closed, "File watcher has been closed");
+        final Path dir = directory.toAbsolutePath().normalize();
+        if (!registrations.containsKey(dir))
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        registrations.computeIfAbsent(dir, k -> new CopyOnWriteArrayList<>()).add(new Registration(filter, callback));
+
+        if (watchThread == null) {
+            watchThread = new Thread(this::processEvents, "PLCommons File Watcher Events");
+            watchThread.setDaemon(true);
+            watchThread.start();
+        }
+    }
+
+    /**
+     * Stops watching all files. Pending callbacks are discarded.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException ex) {
+            PluginLogger.warn("Failed to close file watcher", ex);
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Processes the events of the watch service until it is closed.
+     */
+    private void processEvents() {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+            final Path dir = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+                    continue;
+                schedule(dir, dir.resolve((Path) event.context()));
+            }
+            key.reset();
+        }
+    }
+
+    /**
+     * Schedules the callbacks for a changed file, replacing any callbacks that are still pending for the same file.
+     *
+     * @param dir  the watched directory.
+     * @param file the changed file.
+     */
+    private void schedule(@NotNull Path dir, @NotNull Path file) {
+        final List<Registration> dirRegistrations = registrations.get(dir);
+        if (dirRegistrations == null || executor.isShutdown())
+            return;
+        // Registered before scheduling, so that the task can always remove itself without removing a newer task for the same file
+        final AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+        final AtomicReference<ScheduledFuture<?>> previous = pending.put(file, task);
+        final ScheduledFuture<?> previousFuture = previous != null ? previous.get() : null;
+        if (previousFuture != null)
+            previousFuture.cancel(false);
+        try {
+            task.set(executor.schedule(() -> {
+                pending.remove(file, task);
+                for (Registration registration : dirRegistrations) {
+                    if (!registration.filter.test(file))
+                        continue;
+                    try {
+                        registration.callback.accept(file);
+                    } catch (Throwable thrown) {
+                        PluginLogger.severe("Failed to handle change of file '" + file + "'", thrown);
+                    }
+                }
+            }, debounceMillis, TimeUnit.MILLISECONDS));
+        } catch (RejectedExecutionException ex) {
+            // The watcher was closed after the shutdown check above, the change is discarded like any other pending callback
+            pending.remove(file, task);
+        }
+    }
+
+    private static final class Registration {
+
+        private final Predicate<Path> filter;
+        private final Consumer<Path> callback;
+
+        private Registration(@NotNull Predicate<Path> filter, @NotNull Consumer<Path> callback) {
+            this.filter = filter;
+            this.callback = callback;
+        }
+    }
+}
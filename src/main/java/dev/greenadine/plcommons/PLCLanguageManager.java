@@ -28,18 +28,43 @@ import co.aikar.commands.MessageType;
 import co.aikar.locales.LocaleManager;
 import co.aikar.locales.MessageKey;
 import co.aikar.locales.MessageKeyProvider;
+import com.google.common.base.Preconditions;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * A manager that handles language localization for plugins.
@@ -51,11 +76,34 @@ import java.util.regex.Pattern;
  */
 public class PLCLanguageManager {
 
-    private final LocaleManager<CommandSender> localeManager;
+    private static final String PLCOMMONS_BUNDLE = "PLCommons";
+    private static final int DEFAULT_MAX_MESSAGES_PER_TICK = 100;
+    private static final BiConsumer<CommandSender, String> SEND_LEGACY = CommandSender::sendMessage;
+    private static final long MISSING_KEY_SUMMARY_PERIOD_TICKS = 20L * 60L * 5L;
+    private static final int MISSING_KEY_SUMMARY_LIMIT = 10;
+    private static final String MISSING_MESSAGE = new String("<missing>");  // Compared by identity, so no message can be mistaken for it
+
+    private final LocaleManager<Locale> localeManager;
+    private final Function<CommandSender, Locale> localeMapper;
+    private final Locale defaultLocale;
+    private final Map<UUID, Locale> localeCache;
     private final Set<Locale> supportedLanguages = new HashSet<>();
-    private final Map<MessageType, PLCMessageFormatter> messageFormatters = new IdentityHashMap<>();
-    private PLCMessageFormatter defaultFormatter;
-    private String pluginPrefix;
+    private volatile Map<MessageType, PLCMessageFormatter> messageFormatters = new IdentityHashMap<>();  // Copied on write
+    private final Set<String> messageBundles = new CopyOnWriteArraySet<>();
+    private final Set<Locale> loadedLocales = new HashSet<>();
+    private final Map<Path, Map<String, String>> loadedMessageFiles = new ConcurrentHashMap<>();
+    private final List<BiConsumer<Locale, Set<String>>> reloadListeners = new CopyOnWriteArrayList<>();
+    private final Map<Locale, Map<MessageKey, String>> resolvedMessages = new ConcurrentHashMap<>();
+    private final Map<Locale, Map<MessageType, Map<MessageKey, MessageTemplate>>> templates = new ConcurrentHashMap<>();
+    private final Map<Locale, Map<MessageType, String>> prefixes = new ConcurrentHashMap<>();
+    private final Map<String, MissingKey> missingKeys = new ConcurrentHashMap<>();
+    private final AtomicBoolean missingKeySummaryStarted = new AtomicBoolean();
+    private final Queue<PendingMessage<?>> pendingMessages = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean disableHookAdded = new AtomicBoolean();
+    private volatile Executor renderExecutor;
+    private int maxMessagesPerTick;
+    private BukkitTask deliveryTask;
+    private volatile PLCMessageFormatter defaultFormatter;
 
     /**
      * Creates a new language manager supporting only a single locale.
@@ -63,13 +111,21 @@ public class PLCLanguageManager {
      * @param locale the locale.
      */
     public PLCLanguageManager(@NotNull Locale locale) {
-        this.localeManager = LocaleManager.create((sender -> locale), locale);
+        this.localeManager = LocaleManager.create(Function.identity(), locale);
+        this.localeMapper = sender -> locale;
+        this.defaultLocale = locale;
+        this.localeCache = null;
         this.supportedLanguages.add(locale);
         setDefaultFormatters();
+        addMessageBundle(PLCOMMONS_BUNDLE);
     }
 
     /**
      * Creates a new language manager with per-sender locale support.
+     * <p>
+     * The locale of each sender is cached, so the mapper function is only called again after a player changes their client locale or
+     * rejoins, or after {@link #invalidateLocale(CommandSender)} is called.
+     * </p>
      *
      * @param localeMapper       the sender locale mapper function.
      * @param defaultLocale      the default locale.
@@ -77,17 +133,50 @@ public class PLCLanguageManager {
      */
     public PLCLanguageManager(@NotNull Function<CommandSender, Locale> localeMapper, @Nullable Locale defaultLocale,
                               Locale... supportedLanguages) {
-        this.localeManager = LocaleManager.create(localeMapper, defaultLocale);
+        this.localeManager = LocaleManager.create(Function.identity(), defaultLocale);
+        this.localeMapper = localeMapper;
+        this.defaultLocale = defaultLocale;
+        this.localeCache = new ConcurrentHashMap<>();
         this.supportedLanguages.add(defaultLocale);
         this.supportedLanguages.addAll(Arrays.asList(supportedLanguages));
         setDefaultFormatters();
+        addMessageBundle(PLCOMMONS_BUNDLE);
+        Events.registerListener(new LocaleCacheListener());
+    }
+
+    /**
+     * Creates a new language manager supporting only a single locale, for the current server platform. On Paper, this is a
+     * {@link PaperLanguageManager}.
+     *
+     * @param locale the locale.
+     * @return the language manager.
+     */
+    public static @NotNull PLCLanguageManager create(@NotNull Locale locale) {
+        if (ServerPlatform.getCurrent() == ServerPlatform.PAPER)
+            return new PaperLanguageManager(locale);
+        return new PLCLanguageManager(locale);
+    }
+
+    /**
+     * Creates a new language manager with per-sender locale support, for the current server platform. On Paper, this is a
+     * {@link PaperLanguageManager}.
+     *
+     * @param localeMapper       the sender locale mapper function.
+     * @param defaultLocale      the default locale.
+     * @param supportedLanguages the additionally supported languages (excl. default).
+     * @return the language manager.
+     */
+    public static @NotNull PLCLanguageManager create(@NotNull Function<CommandSender, Locale> localeMapper, @Nullable Locale defaultLocale,
+                                                     Locale... supportedLanguages) {
+        if (ServerPlatform.getCurrent() == ServerPlatform.PAPER)
+            return new PaperLanguageManager(localeMapper, defaultLocale, supportedLanguages);
+        return new PLCLanguageManager(localeMapper, defaultLocale, supportedLanguages);
     }
 
     /**
      * Sets default message formats.
      */
     private void setDefaultFormatters() {
-        // TODO: Create language manager for Paper that uses NamedTextColor instead
         setDefaultFormat(ChatColor.GRAY, ChatColor.DARK_GRAY, ChatColor.GOLD, ChatColor.GREEN, ChatColor.YELLOW, ChatColor.RED);
         setFormat(MessageType.INFO, ChatColor.WHITE, ChatColor.GOLD, ChatColor.AQUA, ChatColor.DARK_GRAY, ChatColor.GRAY, ChatColor.GREEN, ChatColor.YELLOW, ChatColor.RED);
         setFormat(MessageType.HELP, ChatColor.WHITE, ChatColor.GOLD, ChatColor.AQUA, ChatColor.DARK_GRAY, ChatColor.GRAY, ChatColor.GREEN, ChatColor.YELLOW, ChatColor.RED);
@@ -115,15 +204,152 @@ public class PLCLanguageManager {
         return supportedLanguages.contains(locale);
     }
 
+    /**
+     * Discards the cached locale of the sender, so that it is resolved again by the locale mapper on the next message. This should be
+     * called when a locale preference the mapper depends on has changed.
+     *
+     * @param sender the sender.
+     */
+    public void invalidateLocale(@NotNull CommandSender sender) {
+        if (localeCache != null)
+            localeCache.remove(getUniqueId(sender));
+    }
+
     /**
      * Adds a message bundle to the language manager.
+     * <p>
+     * The bundle is only loaded for the default locale and the locales that are already in use. It is loaded for any other supported
+     * locale the first time a message in that locale is looked up.
+     * </p>
      *
      * @param bundleName the name of the message bundle.
-     * @return {@code true} if the message bundle was added, {@code false} otherwise.
+     * @return {@code true} if the message bundle was added for one of the loaded locales, {@code false} otherwise.
      */
     public boolean addMessageBundle(@NotNull String bundleName) {
-        localeManager.addMessageBundle("PLCommons", supportedLanguages.toArray(new Locale[0]));
-        return localeManager.addMessageBundle(bundleName, supportedLanguages.toArray(new Locale[0]));
+        boolean added = false;
+        synchronized (localeManager) {
+            if (defaultLocale != null)
+                loadLocale(defaultLocale);
+            messageBundles.add(bundleName);
+            for (Locale locale : loadedLocales)
+                if (supportedLanguages.contains(locale))
+                    added |= localeManager.addMessageBundle(bundleName, locale);
+        }
+        invalidateCaches();
+        return added;
+    }
+
+    /**
+     * Loads the message files of the added message bundles from the given directory, and watches them for changes. Message files are
+     * named after their bundle and locale, for example {@code messages_en.properties}, and override the messages of the bundle embedded
+     * in the plugin. Changed files are parsed on the watcher's thread, after which their messages are applied on the main thread.
+     * <p>
+     * Messages that are removed from a file remain loaded until the plugin is restarted.
+     * </p>
+     *
+     * @param watcher   the file watcher.
+     * @param directory the directory containing the message files.
+     * @throws IOException if the directory could not be watched.
+     */
+    public void watchMessageBundles(@NotNull PLCFileWatcher watcher, @NotNull File directory) throws IOException {
+        final File[] files = directory.listFiles();
+        if (files != null)
+            for (File file : files)
+                if (isMessageFile(file.toPath()))
+                    reloadMessageFile(file.toPath());
+        watcher.watchDirectory(directory.toPath(), this::isMessageFile, this::reloadMessageFile);
+    }
+
+    /**
+     * Adds a listener that is called after a message file has been reloaded, with the locale of the file and the keys of all messages that
+     * changed. The listener is called on the main thread.
+     *
+     * @param listener the listener.
+     */
+    public void addReloadListener(@NotNull BiConsumer<Locale, Set<String>> listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Checks whether the given file is a message file of one of the added message bundles.
+     *
+     * @param file the file to check.
+     * @return {@code true} if the file is a message file, {@code false} otherwise.
+     */
+    private boolean isMessageFile(@NotNull Path file) {
+        return getMessageFileLocale(file) != null;
+    }
+
+    /**
+     * Gets the locale of the given message file.
+     *
+     * @param file the message file.
+     * @return the locale of the message file, or {@code null} if the file is not a message file of one of the added message bundles.
+     */
+    private @Nullable Locale getMessageFileLocale(@NotNull Path file) {
+        final String fileName = file.getFileName().toString();
+        if (!fileName.endsWith(".properties"))
+            return null;
+        for (String bundleName : messageBundles) {
+            if (!fileName.startsWith(bundleName + "_"))
+                continue;
+            final String[] parts = fileName.substring(bundleName.length() + 1, fileName.length() - ".properties".length()).split("_", 3);
+            if (parts[0].isEmpty())
+                continue;
+            return new Locale(parts[0], parts.length > 1 ? parts[1] : "", parts.length > 2 ? parts[2] : "");
+        }
+        return null;
+    }
+
+    /**
+     * Reloads the given message file, applying its messages and notifying the reload listeners of the changed keys.
+     *
+     * @param file the message file.
+     */
+    private void reloadMessageFile(@NotNull Path file) {
+        final Locale locale = getMessageFileLocale(file);
+        if (locale == null)
+            return;
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException ex) {
+            PluginLogger.warn("Failed to load message file '" + file.getFileName() + "'", ex);
+            return;
+        }
+        final Map<String, String> messages = new HashMap<>();
+        for (String key : properties.stringPropertyNames())
+            messages.put(key, properties.getProperty(key));
+
+        final Map<String, String> previous = loadedMessageFiles.put(file.toAbsolutePath().normalize(), messages);
+        final Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, String> entry : messages.entrySet())
+            if (previous == null || !entry.getValue().equals(previous.get(entry.getKey())))
+                changed.add(entry.getKey());
+        if (changed.isEmpty())
+            return;
+
+        // The locale manager is not thread-safe, so apply the messages on the main thread
+        final Set<String> changedKeys = Collections.unmodifiableSet(changed);
+        final Runnable apply = () -> {
+            synchronized (localeManager) {
+                // Load the bundles first, so they do not override the messages of the file when loaded later
+                loadLocale(locale);
+                localeManager.addMessageStrings(locale, messages);
+            }
+            invalidateCaches();
+            for (BiConsumer<Locale, Set<String>> listener : reloadListeners) {
+                try {
+                    listener.accept(locale, changedKeys);
+                } catch (Throwable thrown) {
+                    PluginLogger.severe("Failed to handle message file reload", thrown);
+                }
+            }
+        };
+        if (Bukkit.isPrimaryThread())
+            apply.run();
+        else
+            Scheduling.runSync(apply);
     }
 
     /**
@@ -133,6 +359,7 @@ public class PLCLanguageManager {
      */
     public void setDefaultFormat(ChatColor... colors) {
         defaultFormatter = new PLCMessageFormatter(colors);
+        invalidateCaches();
     }
 
     /**
@@ -142,7 +369,68 @@ public class PLCLanguageManager {
      * @param colors the colors to use in the message format.
      */
     public void setFormat(@NotNull MessageType type, @NotNull ChatColor... colors) {
-        messageFormatters.put(type, new PLCMessageFormatter(colors));
+        synchronized (this) {  // Swap in a copy, as the formatters are read by render workers without locking
+            final Map<MessageType, PLCMessageFormatter> formatters = new IdentityHashMap<>(messageFormatters);
+            formatters.put(type, new PLCMessageFormatter(colors));
+            messageFormatters = formatters;
+        }
+        invalidateCaches();
+    }
+
+    /**
+     * Enables asynchronous rendering on the common fork-join pool, delivering at most 100 messages per tick.
+     *
+     * @see #enableAsyncRendering(Executor, int)
+     */
+    public void enableAsyncRendering() {
+        enableAsyncRendering(ForkJoinPool.commonPool(), DEFAULT_MAX_MESSAGES_PER_TICK);
+    }
+
+    /**
+     * Enables asynchronous rendering. Messages sent through this manager are then formatted on the given executor, after which they are
+     * delivered to their recipients by a task on the main thread that runs every tick. Messages are delivered in the order they were sent,
+     * and messages exceeding the per-tick limit are delivered during the next ticks.
+     * <p>
+     * Locales are still resolved on the sending thread, but replacement {@link Supplier}s and per-recipient replacement functions are
+     * called on the executor.
+     * </p>
+     *
+     * @param executor           the executor to render messages on.
+     * @param maxMessagesPerTick the maximum number of messages to deliver per tick.
+     */
+    public synchronized void enableAsyncRendering(@NotNull Executor executor, int maxMessagesPerTick) {
+        Preconditions.checkArgument(maxMessagesPerTick > 0, "Max messages per tick must be positive");
+        this.maxMessagesPerTick = maxMessagesPerTick;
+        this.renderExecutor = executor;
+        if (deliveryTask == null)
+            deliveryTask = Scheduling.runTimer(1L, 1L, this::deliverPending);
+        if (disableHookAdded.compareAndSet(false, true))
+            PLCommons.getPlugin().addDisableHook(this::disableAsyncRendering);
+    }
+
+    /**
+     * Disables asynchronous rendering, delivering all pending messages. This must be called on the main thread.
+     */
+    public synchronized void disableAsyncRendering() {
+        if (deliveryTask != null) {
+            deliveryTask.cancel();
+            deliveryTask = null;
+        }
+        synchronized (pendingMessages) {
+            renderExecutor = null;
+        }
+        PendingMessage<?> pending;
+        while ((pending = pendingMessages.poll()) != null)
+            pending.deliver();
+    }
+
+    /**
+     * Gets whether messages are rendered asynchronously.
+     *
+     * @return {@code true} if messages are rendered asynchronously, {@code false} otherwise.
+     */
+    public boolean isAsyncRendering() {
+        return renderExecutor != null;
     }
 
     /**
@@ -154,8 +442,8 @@ public class PLCLanguageManager {
      * @param prefix {@code true} if the message should have the plugin prefix, {@code false} otherwise.
      */
     public void sendMessage(@NotNull CommandSender sender, @NotNull MessageType type, @NotNull MessageKeyProvider key, boolean prefix) {
-        final String message = formatMessage(sender, type, key);
-        sender.sendMessage((prefix ? getPrefix(sender) : "") + message);
+        final Locale locale = resolveLocale(sender);
+        deliver(sender, () -> render(locale, type, key.getMessageKey(), prefix), SEND_LEGACY);
     }
 
     /**
@@ -168,8 +456,68 @@ public class PLCLanguageManager {
      * @param replacements the replacements to apply to the message.
      */
     public void sendMessage(@NotNull CommandSender sender, @NotNull MessageType type, @NotNull MessageKeyProvider key, boolean prefix, String... replacements) {
-        final String message = formatMessage(sender, type, key, replacements);
-        sender.sendMessage((prefix ? getPrefix(sender) : "") + message);
+        final Locale locale = resolveLocale(sender);
+        deliver(sender, () -> render(locale, type, key.getMessageKey(), prefix, replacements), SEND_LEGACY);
+    }
+
+    /**
+     * Sends a message to the sender.
+     *
+     * @param sender       the sender.
+     * @param type         the message type.
+     * @param key          the key of the message to send.
+     * @param prefix       {@code true} if the message should have the plugin prefix, {@code false} otherwise.
+     * @param replacements the replacements to apply to the message, mapping placeholder names to their values. Values may be
+     *                     {@link Supplier}s, which are only called if their placeholder occurs in the message.
+     */
+    public void sendMessage(@NotNull CommandSender sender, @NotNull MessageType type, @NotNull MessageKeyProvider key, boolean prefix,
+                            @NotNull Map<String, ?> replacements) {
+        final Locale locale = resolveLocale(sender);
+        deliver(sender, () -> {
+            final String message = getTemplate(locale, type, key.getMessageKey()).render(replacements);
+            return prefix ? getPrefix(locale, type) + message : message;
+        }, SEND_LEGACY);
+    }
+
+    /**
+     * Broadcasts a message to the given recipients. The message is rendered only once for each locale among the recipients.
+     *
+     * @param recipients   the recipients.
+     * @param type         the message type.
+     * @param key          the key of the message to send.
+     * @param prefix       {@code true} if the message should have the plugin prefix, {@code false} otherwise.
+     * @param replacements the replacements to apply to the message.
+     */
+    public void broadcast(@NotNull Collection<? extends CommandSender> recipients, @NotNull MessageType type,
+                          @NotNull MessageKeyProvider key, boolean prefix, String... replacements) {
+        final MessageKey msgKey = key.getMessageKey();
+        broadcast(recipients, locale -> render(locale, type, msgKey, prefix, replacements), null, SEND_LEGACY);
+    }
+
+    /**
+     * Broadcasts a message to the given recipients. The message is looked up only once for each locale among the recipients, and rendered
+     * for each recipient in a single pass with both the shared and the recipient-specific replacements. A shared replacement takes
+     * precedence over a recipient-specific replacement with the same name.
+     *
+     * @param recipients            the recipients.
+     * @param type                  the message type.
+     * @param key                   the key of the message to send.
+     * @param prefix                {@code true} if the message should have the plugin prefix, {@code false} otherwise.
+     * @param recipientReplacements the function providing the replacements specific to a recipient. Values may be {@link Supplier}s,
+     *                              which are only called if their placeholder occurs in the message.
+     * @param replacements          the replacements to apply to the message for all recipients.
+     */
+    public void broadcast(@NotNull Collection<? extends CommandSender> recipients, @NotNull MessageType type,
+                          @NotNull MessageKeyProvider key, boolean prefix,
+                          @NotNull Function<? super CommandSender, ? extends Map<String, ?>> recipientReplacements,
+                          String... replacements) {
+        final MessageKey msgKey = key.getMessageKey();
+        Placeholders.checkPairs(replacements);
+        broadcast(recipients, locale -> {
+            final MessageTemplate template = getTemplate(locale, type, msgKey);
+            final String messagePrefix = prefix ? getPrefix(locale, type) : "";
+            return (Function<Map<String, ?>, String>) merged -> messagePrefix + template.render(merged);
+        }, (recipient, renderer) -> renderer.apply(Placeholders.merge(recipientReplacements.apply(recipient), replacements)), SEND_LEGACY);
     }
 
     /**
@@ -180,8 +528,8 @@ public class PLCLanguageManager {
      * @param prefix  {@code true} if the message should have the plugin prefix, {@code false} otherwise.
      */
     public void sendMessage(@NotNull CommandSender sender, @NotNull String message, boolean prefix) {
-        message = Strings.colorize(message);
-        sender.sendMessage((prefix ? getPrefix(sender) : "") + message);
+        final Locale locale = resolveLocale(sender);
+        deliver(sender, () -> (prefix ? getPrefix(locale, MessageType.INFO) : "") + Strings.colorize(message), SEND_LEGACY);
     }
 
     /**
@@ -193,10 +541,13 @@ public class PLCLanguageManager {
      * @param replacements the replacements to apply to the message.
      */
     public void sendMessage(@NotNull CommandSender sender, @NotNull String message, boolean prefix, String... replacements) {
-        message = Strings.colorize(message);
-        if (replacements.length > 0)
-            message = replaceStrings(message, replacements);
-        sender.sendMessage((prefix ? getPrefix(sender) : "") + message);
+        final Locale locale = resolveLocale(sender);
+        deliver(sender, () -> {
+            String formatted = Strings.colorize(message);
+            if (replacements.length > 0)
+                formatted = replaceStrings(formatted, replacements);
+            return (prefix ? getPrefix(locale, MessageType.INFO) : "") + formatted;
+        }, SEND_LEGACY);
     }
 
     /**
@@ -208,15 +559,58 @@ public class PLCLanguageManager {
      */
     @NotNull
     public String getMessage(@Nullable CommandSender sender, @NotNull MessageKeyProvider key) {
-        final MessageKey msgKey = key.getMessageKey();
-        String message = localeManager.getMessage(sender, msgKey);
-        if (message == null) {
-            PluginLogger.info("MISSING LANGUAGE KEY: " + msgKey.getKey());
-            message = "<MISSING_LANGUAGE_KEY: " + msgKey.getKey() + ">";
+        return getMessage(resolveLocale(sender), key.getMessageKey());
+    }
+
+    /**
+     * Gets a message in the given locale, falling back to the language of the locale and then to the default locale.
+     *
+     * @param locale the locale.
+     * @param msgKey the key of the message to get.
+     * @return the message.
+     */
+    private @NotNull String getMessage(@NotNull Locale locale, @NotNull MessageKey msgKey) {
+        final String message = findMessage(locale, msgKey);
+        return message != null ? message : reportMissingKey(msgKey.getKey()).fallback;
+    }
+
+    /**
+     * Finds a message in the given locale, falling back to the language of the locale and then to the default locale.
+     *
+     * @param locale the locale.
+     * @param msgKey the key of the message to find.
+     * @return the message, or {@code null} if it is missing. Missing messages are remembered until the caches are invalidated, while each
+     * lookup is still counted by the caller.
+     */
+    private @Nullable String findMessage(@NotNull Locale locale, @NotNull MessageKey msgKey) {
+        final Map<MessageKey, String> localeMessages = resolvedMessages.get(locale);
+        final String resolved = localeMessages != null ? localeMessages.get(msgKey) : null;
+        // Lock-free once resolved, so render workers do not contend for the locale manager
+        if (resolved != null)
+            return resolved != MISSING_MESSAGE ? resolved : null;
+
+        final String message;
+        synchronized (localeManager) {
+            loadLocale(locale);
+            message = localeManager.getMessage(locale, msgKey);
+            // Publish while holding the lock, so a message that changes concurrently is never cached after the caches are invalidated.
+            // Missing messages are cached as well, so that each use does not go through the fallback chain of the locale manager again.
+            resolvedMessages.computeIfAbsent(locale, k -> new ConcurrentHashMap<>())
+                    .put(msgKey, message != null ? message : MISSING_MESSAGE);
         }
         return message;
     }
 
+    /**
+     * Gets the keys of all messages that were looked up but are missing.
+     *
+     * @return the missing keys.
+     */
+    @NotNull
+    public Set<String> getMissingKeys() {
+        return Collections.unmodifiableSet(missingKeys.keySet());
+    }
+
     /**
      * Replaces I18N strings in the given message.
      *
@@ -268,13 +662,23 @@ public class PLCLanguageManager {
     @NotNull
     public String formatMessage(@NotNull CommandSender sender, @NotNull MessageType type, @NotNull MessageKeyProvider key,
                                 String... replacements) {
-        String message = getMessage(sender, key);
-        if (replacements.length > 0)
-            message = replaceStrings(message, replacements);
-        final PLCMessageFormatter formatter = messageFormatters.getOrDefault(type, this.defaultFormatter);
-        if (formatter != null)
-            message = formatter.format(message);
-        return message;
+        return getTemplate(resolveLocale(sender), type, key.getMessageKey()).render(replacements);
+    }
+
+    /**
+     * Formats a message.
+     *
+     * @param sender       the sender.
+     * @param type         the message type.
+     * @param key          the key of the message.
+     * @param replacements the replacements to apply to the message, mapping placeholder names to their values. Values may be
+     *                     {@link Supplier}s, which are only called if their placeholder occurs in the message.
+     * @return the formatted message.
+     */
+    @NotNull
+    public String formatMessage(@NotNull CommandSender sender, @NotNull MessageType type, @NotNull MessageKeyProvider key,
+                                @NotNull Map<String, ?> replacements) {
+        return getTemplate(resolveLocale(sender), type, key.getMessageKey()).render(replacements);
     }
 
     /**
@@ -312,7 +716,7 @@ public class PLCLanguageManager {
     }
 
     /**
-     * Performs the given replacements on the string.
+     * Performs the given replacements on the string in a single pass. Replaced values are not scanned for placeholders again.
      *
      * @param string       the string to perform replacements on.
      * @param replacements the replacements to perform, as key-value pairs.
@@ -324,57 +728,275 @@ public class PLCLanguageManager {
         if (replacements.length < 2 || replacements.length % 2 != 0)
             throw new IllegalArgumentException("Replacements must be in pairs of two.");
 
-        for (int i = 0; i < replacements.length; i += 2) {
-            final String key = "%" + replacements[i] + "%";
-            String value = replacements[i + 1];
-            if (value == null)
-                value = "";
-            string = replace(string, key, value);
+        return Placeholders.replace(string, replacements);
+    }
+
+    /**
+     * Performs the given replacements on the string in a single pass.
+     *
+     * @param string       the string to perform replacements on.
+     * @param replacements the replacements to perform, mapping placeholder names to their values. Values may be {@link Supplier}s, which
+     *                     are only called if their placeholder occurs in the string.
+     * @return the string with the replacements performed.
+     */
+    @NotNull
+    public String replaceStrings(@NotNull String string, @NotNull Map<String, ?> replacements) {
+        return Placeholders.replace(string, replacements);
+    }
+
+    /**
+     * Loads the added message bundles for the given locale and the locales it falls back to, if they have not been loaded yet. Must be
+     * called while holding the lock of the locale manager.
+     *
+     * @param locale the locale.
+     */
+    private void loadLocale(@NotNull Locale locale) {
+        if (!loadedLocales.add(locale))
+            return;
+        if (!locale.getCountry().isEmpty())
+            loadLocale(new Locale(locale.getLanguage()));
+        if (defaultLocale != null)
+            loadLocale(defaultLocale);
+        if (!supportedLanguages.contains(locale))
+            return;
+        for (String bundleName : messageBundles)
+            localeManager.addMessageBundle(bundleName, locale);
+    }
+
+    /**
+     * Delivers a message, rendering it asynchronously if enabled.
+     *
+     * @param recipient the recipient.
+     * @param renderer  the renderer of the message.
+     * @param sender    the function sending a rendered message to a recipient.
+     * @param <M>       the type of the rendered message.
+     */
+    <M> void deliver(@NotNull CommandSender recipient, @NotNull Supplier<M> renderer,
+                     @NotNull BiConsumer<CommandSender, ? super M> sender) {
+        final Executor executor = renderExecutor;
+        if (executor == null)
+            sender.accept(recipient, renderer.get());
+        else
+            enqueue(new PendingMessage<>(recipient, CompletableFuture.supplyAsync(renderer, executor), sender));
+    }
+
+    /**
+     * Broadcasts a message to the given recipients, rendering it only once for each locale among the recipients. Messages are rendered
+     * asynchronously if enabled.
+     *
+     * @param recipients  the recipients.
+     * @param renderer    the function rendering the message in a locale.
+     * @param personalize the function rendering the message of a recipient out of the result of the renderer, or {@code null} if the
+     *                    renderer already renders the message itself.
+     * @param sender      the function sending a rendered message to a recipient.
+     * @param <T>         the type of the result of the renderer, which must be {@code M} if there is no personalize function.
+     * @param <M>         the type of the rendered message.
+     */
+    @SuppressWarnings("unchecked")
+    <T, M> void broadcast(@NotNull Collection<? extends CommandSender> recipients, @NotNull Function<Locale, T> renderer,
+                          @Nullable BiFunction<CommandSender, T, M> personalize, @NotNull BiConsumer<CommandSender, ? super M> sender) {
+        final Executor executor = renderExecutor;
+        if (executor == null) {
+            final Map<Locale, T> messages = new HashMap<>();
+            for (CommandSender recipient : recipients) {
+                final T message = messages.computeIfAbsent(resolveLocale(recipient), renderer);
+                sender.accept(recipient, personalize != null ? personalize.apply(recipient, message) : (M) message);
+            }
+            return;
+        }
+        final Map<Locale, CompletableFuture<T>> messages = new HashMap<>();
+        for (CommandSender recipient : recipients) {
+            final CompletableFuture<T> message = messages.computeIfAbsent(resolveLocale(recipient),
+                    locale -> CompletableFuture.supplyAsync(() -> renderer.apply(locale), executor));
+            enqueue(new PendingMessage<>(recipient, personalize != null
+                    ? message.thenApplyAsync(rendered -> personalize.apply(recipient, rendered), executor)
+                    : (CompletableFuture<M>) message, sender));
+        }
+    }
+
+    /**
+     * Queues a message that is being rendered asynchronously for delivery, or waits for it and delivers it directly if asynchronous
+     * rendering has been disabled in the meantime.
+     *
+     * @param pending the message.
+     */
+    private void enqueue(@NotNull PendingMessage<?> pending) {
+        synchronized (pendingMessages) {
+            if (renderExecutor != null) {
+                pendingMessages.add(pending);
+                return;
+            }
+        }
+        pending.deliver();
+    }
+
+    /**
+     * Delivers the rendered messages at the head of the queue, up to the per-tick limit. Delivery stops at the first message that is still
+     * being rendered, so that messages arrive in the order they were sent.
+     */
+    private void deliverPending() {
+        for (int delivered = 0; delivered < maxMessagesPerTick; delivered++) {
+            final PendingMessage<?> pending = pendingMessages.peek();
+            if (pending == null || !pending.message.isDone())
+                return;
+            pendingMessages.poll();
+            pending.deliver();
         }
-        return string;
     }
 
     /**
-     * Replaces the given pattern with the replacement in the given string.
+     * Records a lookup of a missing message and gets its fallback. Each missing key is logged once, after which further lookups are only
+     * counted and included in a periodic summary.
      *
-     * @param string      the string to replace in.
-     * @param pattern     the pattern to replace.
-     * @param replacement the replacement.
-     * @return the string with the pattern replaced.
+     * @param key the key of the missing message.
+     * @return the missing key, holding the fallback for the missing message.
      */
-    private @NotNull String replace(@NotNull String string, @NotNull String pattern, @NotNull String replacement) {
-        return replace(string, PLCPatterns.getPattern(Pattern.quote(pattern)), replacement);
+    private @NotNull MissingKey reportMissingKey(@NotNull String key) {
+        MissingKey missing = missingKeys.get(key);
+        if (missing == null) {
+            final MissingKey created = new MissingKey(key);
+            missing = missingKeys.putIfAbsent(key, created);
+            if (missing == null) {
+                missing = created;
+                PluginLogger.warn("MISSING LANGUAGE KEY: " + key);
+                if (missingKeySummaryStarted.compareAndSet(false, true))
+                    Scheduling.runTimerAsync(MISSING_KEY_SUMMARY_PERIOD_TICKS, MISSING_KEY_SUMMARY_PERIOD_TICKS,
+                            this::logMissingKeySummary);
+            }
+        }
+        missing.lookups.increment();
+        return missing;
+    }
+
+    /**
+     * Logs a summary of the lookups of missing messages since the previous summary, if there were any.
+     */
+    private void logMissingKeySummary() {
+        final StringBuilder sb = new StringBuilder();
+        long total = 0;
+        int keys = 0;
+        for (MissingKey missing : missingKeys.values()) {
+            final long lookups = missing.lookups.sumThenReset();
+            if (lookups == 0)
+                continue;
+            total += lookups;
+            if (keys++ < MISSING_KEY_SUMMARY_LIMIT)
+                sb.append("\n  ").append(missing.key).append(" (").append(lookups).append(')');
+        }
+        if (keys == 0)
+            return;
+        if (keys > MISSING_KEY_SUMMARY_LIMIT)
+            sb.append("\n  ... and ").append(keys - MISSING_KEY_SUMMARY_LIMIT).append(" more");
+        PluginLogger.warn("Missing language keys were looked up " + total + " times since the last summary:" + sb);
     }
 
     /**
-     * Replaces the given pattern with the replacement in the given string.
+     * Resolves the locale of the sender.
      *
-     * @param string      the string to replace in.
-     * @param pattern     the pattern to replace.
-     * @param replacement the replacement.
-     * @return the string with the pattern replaced.
+     * @param sender the sender, or {@code null} for the default locale.
+     * @return the locale of the sender.
      */
-    private @NotNull String replace(@NotNull String string, @NotNull Pattern pattern, @NotNull String replacement) {
-        return pattern.matcher(string).replaceAll(Matcher.quoteReplacement(replacement));
+    @NotNull Locale resolveLocale(@Nullable CommandSender sender) {
+        if (sender == null)
+            return defaultLocale;
+        if (localeCache == null)
+            return mapLocale(sender);
+        final UUID uniqueId = getUniqueId(sender);
+        Locale locale = localeCache.get(uniqueId);
+        if (locale == null) {
+            locale = mapLocale(sender);
+            localeCache.put(uniqueId, locale);
+        }
+        return locale;
     }
 
     /**
-     * Gets the plugin prefix for the sender.
+     * Maps the sender to its locale using the locale mapper.
      *
      * @param sender the sender.
+     * @return the locale of the sender, or the default locale if the mapper returned {@code null}.
+     */
+    private @NotNull Locale mapLocale(@NotNull CommandSender sender) {
+        final Locale locale = localeMapper.apply(sender);
+        return locale != null ? locale : defaultLocale;
+    }
+
+    /**
+     * Gets the compiled template of a message, compiling it on first use. Templates are discarded whenever messages or formats change.
+     * Templates of missing messages are not cached, so that each use is counted in the summary of missing keys.
+     *
+     * @param locale the locale.
+     * @param type   the message type.
+     * @param msgKey the key of the message.
+     * @return the template.
+     */
+    @NotNull MessageTemplate getTemplate(@NotNull Locale locale, @NotNull MessageType type, @NotNull MessageKey msgKey) {
+        Map<MessageType, Map<MessageKey, MessageTemplate>> localeTemplates = templates.get(locale);
+        if (localeTemplates == null)
+            localeTemplates = templates.computeIfAbsent(locale, k -> new ConcurrentHashMap<>());
+        Map<MessageKey, MessageTemplate> typeTemplates = localeTemplates.get(type);
+        if (typeTemplates == null)
+            typeTemplates = localeTemplates.computeIfAbsent(type, k -> new ConcurrentHashMap<>());
+        final MessageTemplate template = typeTemplates.get(msgKey);
+        if (template != null)
+            return template;
+        final String message = findMessage(locale, msgKey);
+        if (message == null)
+            return reportMissingKey(msgKey.getKey()).template;
+        final PLCMessageFormatter formatter = messageFormatters.getOrDefault(type, this.defaultFormatter);
+        final MessageTemplate compiled = formatter != null ? formatter.compile(message) : MessageTemplate.literal(message);
+        final MessageTemplate existing = typeTemplates.putIfAbsent(msgKey, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    /**
+     * Renders a message in the given locale.
+     *
+     * @param locale       the locale.
+     * @param type         the message type.
+     * @param msgKey       the key of the message.
+     * @param prefix       {@code true} if the message should have the plugin prefix, {@code false} otherwise.
+     * @param replacements the replacements to apply to the message.
+     * @return the rendered message.
+     */
+    private @NotNull String render(@NotNull Locale locale, @NotNull MessageType type, @NotNull MessageKey msgKey, boolean prefix,
+                                   String... replacements) {
+        final String message = getTemplate(locale, type, msgKey).render(replacements);
+        return prefix ? getPrefix(locale, type) + message : message;
+    }
+
+    /**
+     * Gets the plugin prefix in the given locale, formatted with the format of the given message type. Prefixes are cached until messages
+     * or formats change.
+     *
+     * @param locale the locale.
+     * @param type   the message type.
      * @return the plugin prefix.
      */
-    private @NotNull String getPrefix(@NotNull CommandSender sender) {
-        if (pluginPrefix == null) {
-            String prefix = getMessage(sender, PLCMessageKeys.PLUGIN_PREFIX);
-            final String pluginName = getMessage(sender, PLCMessageKeys.PLUGIN_NAME);
-            prefix = replaceStrings(prefix, "plugin_name", pluginName);
-            final PLCMessageFormatter formatter = messageFormatters.getOrDefault(MessageType.INFO, this.defaultFormatter);
-            prefix = formatter.format(prefix);
-            final String def = formatter.format(0, "");
-            pluginPrefix = prefix + def + " ";
-        }
-        return pluginPrefix;
+    @NotNull String getPrefix(@NotNull Locale locale, @NotNull MessageType type) {
+        Map<MessageType, String> localePrefixes = prefixes.get(locale);
+        if (localePrefixes == null)
+            localePrefixes = prefixes.computeIfAbsent(locale, k -> new ConcurrentHashMap<>());
+        final String cached = localePrefixes.get(type);
+        if (cached != null)
+            return cached;
+
+        String prefix = getMessage(locale, PLCMessageKeys.PLUGIN_PREFIX);
+        final String pluginName = getMessage(locale, PLCMessageKeys.PLUGIN_NAME);
+        prefix = replaceStrings(prefix, "plugin_name", pluginName);
+        final PLCMessageFormatter formatter = messageFormatters.getOrDefault(type, this.defaultFormatter);
+        prefix = formatter.format(prefix) + formatter.format(0, "") + " ";
+        final String existing = localePrefixes.putIfAbsent(type, prefix);
+        return existing != null ? existing : prefix;
+    }
+
+    /**
+     * Discards the resolved messages, compiled templates and prefixes, after messages or formats have changed.
+     */
+    void invalidateCaches() {
+        resolvedMessages.clear();
+        templates.clear();
+        prefixes.clear();
     }
 
     /**
@@ -387,4 +1009,64 @@ public class PLCLanguageManager {
         return sender instanceof Player ? ((Player) sender).getUniqueId() :
                 UUID.nameUUIDFromBytes(sender.getName().getBytes(StandardCharsets.UTF_8));
     }
+
+    private static final class MissingKey {
+
+        private final String key;
+        private final String fallback;
+        private final MessageTemplate template;  // Shared by all uses, so caches keyed by template stay bounded
+        private final LongAdder lookups = new LongAdder();
+
+        private MissingKey(@NotNull String key) {
+            this.key = key;
+            this.fallback = "<MISSING_LANGUAGE_KEY: " + key + ">";
+            this.template = MessageTemplate.literal(fallback);
+        }
+    }
+
+    private static final class PendingMessage<M> {
+
+        private final CommandSender recipient;
+        private final CompletableFuture<M> message;
+        private final BiConsumer<CommandSender, ? super M> sender;
+
+        private PendingMessage(@NotNull CommandSender recipient, @NotNull CompletableFuture<M> message,
+                               @NotNull BiConsumer<CommandSender, ? super M> sender) {
+            this.recipient = recipient;
+            this.message = message;
+            this.sender = sender;
+        }
+
+        /**
+         * Waits for the message to be rendered and sends it to the recipient.
+         */
+        private void deliver() {
+            final M rendered;
+            try {
+                rendered = message.join();
+            } catch (CompletionException ex) {
+                PluginLogger.severe("Failed to render message for " + recipient.getName(), ex.getCause());
+                return;
+            }
+            sender.accept(recipient, rendered);
+        }
+    }
+
+    /**
+     * Evicts cached player locales when they may have changed.
+     */
+    private final class LocaleCacheListener implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onLocaleChange(PlayerLocaleChangeEvent event) {
+            // The new locale is only applied to the player after the event, so evict once it has been
+            final UUID uniqueId = event.getPlayer().getUniqueId();
+            Scheduling.runSync(() -> localeCache.remove(uniqueId));
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            localeCache.remove(event.getPlayer().getUniqueId());
+        }
+    }
 }
@@ -32,14 +32,13 @@ import java.util.List;
 import java.util.regex.Matcher;
 
 /**
- * PLCommons version of {@link co.aikar.commands.MessageFormatter}.
+ * PLCommons version of {@link co.aikar.commands.MessageFormatter}. On Paper, the colors are mapped to Adventure's named text colors by the
+ * {@link PaperLanguageManager}.
  *
  * @since 0.1
  */
 public class PLCMessageFormatter {
 
-    // TODO: Add support for Paper NamedTextColor
-
     private final List<ChatColor> colors = new ArrayList<>();
 
     public PLCMessageFormatter(ChatColor... colors) {
@@ -73,11 +72,57 @@ public class PLCMessageFormatter {
         if (message == null || message.isEmpty())
             return "";
 
-        final String def = format(0, "");
-        final Matcher matcher = PLCPatterns.COLOR_FORMATTER.matcher(message);
         final StringBuffer sb = new StringBuffer(message.length());
-        sb.append(def);
+        sb.append(format(0, ""));
+        return formatCodes(message, sb);
+    }
+
+    /**
+     * Formats the color codes within a replacement value, producing the same output as the value would have within a message formatted
+     * by {@link #format(String)}.
+     *
+     * @param value the replacement value.
+     * @return the formatted value.
+     */
+    @NotNull String formatValue(@NotNull String value) {
+        return formatCodes(value, new StringBuffer(value.length()));
+    }
+
+    /**
+     * Compiles the given message into a template, producing the same output as {@link #format(String)}. Placeholders in the message
+     * are kept as placeholders of the template, and the color codes within their replacements are formatted when the template is
+     * rendered.
+     *
+     * @param message the message.
+     * @return the template.
+     */
+    @NotNull MessageTemplate compile(String message) {
+        final MessageTemplate.Builder builder = new MessageTemplate.Builder();
+        if (message == null || message.isEmpty())
+            return builder.build("", this);
+
+        final ChatColor def = getColorAt(0);
+        final Matcher matcher = PLCPatterns.COLOR_FORMATTER.matcher(message);
+        builder.appendColor(null, def);
+
+        int last = 0;
+        while (matcher.find()) {
+            final String code = matcher.group("code");
+            final char[] chars = code.toCharArray();
+            final int color = ACFUtil.parseInt(String.valueOf(chars[0]), 1);
+            final char styleCodeChar = chars.length >= 2 ? chars[1] : 'r';
+            builder.appendText(message.substring(last, matcher.start()))
+                    .appendColor(getChatStyle(styleCodeChar), getColorAt(color))
+                    .appendText(matcher.group("msg"))
+                    .appendColor(null, def);
+            last = matcher.end();
+        }
+        return builder.appendText(message.substring(last)).build(message, this);
+    }
 
+    private @NotNull String formatCodes(@NotNull String message, @NotNull StringBuffer sb) {
+        final String def = format(0, "");
+        final Matcher matcher = PLCPatterns.COLOR_FORMATTER.matcher(message);
         while (matcher.find()) {
             final String code = matcher.group("code");
             final char[] chars = code.toCharArray();
@@ -108,6 +153,14 @@ public class PLCMessageFormatter {
         return new String(chars);
     }
 
+    private @NotNull ChatColor getColorAt(int index) {
+        try {
+            return colors.get(index);
+        } catch (IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid color index: " + index);
+        }
+    }
+
     private static @NotNull ChatColor getChatStyle(char code) {
         switch (code) {
             case 'k':
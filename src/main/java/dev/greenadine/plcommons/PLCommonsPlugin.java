@@ -31,6 +31,9 @@ import org.jetbrains.annotations.Nullable;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * An extension of {@link JavaPlugin} that provides some common functionality for Minecraft plugins.
@@ -39,6 +42,9 @@ import java.util.List;
  */
 public abstract class PLCommonsPlugin extends JavaPlugin {
 
+    private final List<Runnable> disableHooks = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<?>> pendingMigrations = new ArrayList<>();
+
     /**
      * Called when the plugin is loaded, but before it is enabled.
      */
@@ -53,6 +59,13 @@ public abstract class PLCommonsPlugin extends JavaPlugin {
     protected void onPluginEnable() throws PluginEnableException {
     }
 
+    /**
+     * Called when the plugin is disabled.
+     */
+    @OverrideOnly
+    protected void onPluginDisable() {
+    }
+
     /**
      * Handles an exception that occurs. This can be overridden to provide custom handling.
      */
@@ -76,6 +89,7 @@ public abstract class PLCommonsPlugin extends JavaPlugin {
     public final void onEnable() {
         try {
             PLCommons.pluginInstance = this;
+            awaitMigrations();
             onPluginEnable();
         } catch (PluginEnableException ex) {
             shutdown(ex.messageLines, ex);
@@ -84,6 +98,23 @@ public abstract class PLCommonsPlugin extends JavaPlugin {
         }
     }
 
+    @Override
+    public final void onDisable() {
+        try {
+            onPluginDisable();
+        } catch (Throwable thrown) {
+            handleThrown(thrown);
+        }
+        for (final Runnable hook : disableHooks) {
+            try {
+                hook.run();
+            } catch (Throwable thrown) {
+                handleThrown(thrown);
+            }
+        }
+        disableHooks.clear();
+    }
+
     // -- Public Utility --
 
     /**
@@ -97,8 +128,53 @@ public abstract class PLCommonsPlugin extends JavaPlugin {
                 saveResource(path, false);
     }
 
+    /**
+     * Starts migrating the given configuration file on a worker thread. Should be called from {@link #onPluginLoad()}, before the
+     * configuration is used: the plugin is only enabled once all migrations have finished, and fails to enable if any of them failed.
+     *
+     * @param migrator the migrator of the configuration file.
+     * @return a future that completes with the version the file was at before migrating.
+     */
+    protected final @NotNull CompletableFuture<Integer> migrateConfig(@NotNull ConfigMigrator migrator) {
+        final CompletableFuture<Integer> future = migrator.migrateAsync(getLogger());
+        pendingMigrations.add(future);
+        return future;
+    }
+
     // -- Internal Utility --
 
+    /**
+     * Waits for all configuration migrations started through {@link #migrateConfig(ConfigMigrator)} to finish.
+     *
+     * @throws PluginEnableException if any of the migrations failed.
+     */
+    private void awaitMigrations() throws PluginEnableException {
+        final List<String> errors = new ArrayList<>();
+        Throwable cause = null;
+        for (final CompletableFuture<?> migration : pendingMigrations) {
+            try {
+                migration.join();
+            } catch (CompletionException ex) {
+                cause = ex.getCause() != null ? ex.getCause() : ex;
+                errors.add(cause.getMessage());
+            }
+        }
+        pendingMigrations.clear();
+        if (!errors.isEmpty()) {
+            errors.add(0, "Failed to migrate the configuration:");
+            throw new PluginEnableException(cause, errors.toArray(new String[0]));
+        }
+    }
+
+    /**
+     * Adds a hook that is run when the plugin is disabled, after {@link #onPluginDisable()} has been called.
+     *
+     * @param hook the hook to run.
+     */
+    void addDisableHook(@NotNull Runnable hook) {
+        disableHooks.add(hook);
+    }
+
     /**
      * Returns the name of the plugin with its version.
      *
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import co.aikar.commands.MessageType;
+import co.aikar.locales.MessageKey;
+import co.aikar.locales.MessageKeyProvider;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A language manager for Paper, which sends keyed messages as Adventure {@link Component}s instead of legacy strings.
+ * <p>
+ * Message templates are compiled into components once per locale, with the colors of the message formats mapped to their
+ * {@link net.kyori.adventure.text.format.NamedTextColor named text colors}, so sending a message does not require Paper to parse a legacy
+ * string. Use {@link PLCLanguageManager#create(Locale)} to get the appropriate language manager for the current server platform.
+ * </p>
+ *
+ * @since 0.1
+ */
+public class PaperLanguageManager extends PLCLanguageManager {
+
+    private static final String[] NO_REPLACEMENTS = new String[0];
+    private static final BiConsumer<CommandSender, Component> SEND_COMPONENT = (recipient, component) -> {
+        if (recipient instanceof Audience)
+            ((Audience) recipient).sendMessage(component);
+        else
+            recipient.sendMessage(ComponentTemplate.LEGACY.serialize(component));
+    };
+
+    private final Map<MessageTemplate, ComponentTemplate> componentTemplates = new ConcurrentHashMap<>();
+    private final Map<Locale, Map<MessageType, Component>> prefixComponents = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new language manager supporting only a single locale.
+     *
+     * @param locale the locale.
+     */
+    public PaperLanguageManager(@NotNull Locale locale) {
+        super(locale);
+    }
+
+    /**
+     * Creates a new language manager with per-sender locale support.
+     *
+     * @param localeMapper       the sender locale mapper function.
+     * @param defaultLocale      the default locale.
+     * @param supportedLanguages the additionally supported languages (excl. default).
+     */
+    public PaperLanguageManager(@NotNull Function<CommandSender, Locale> localeMapper, @Nullable Locale defaultLocale,
+                                Locale... supportedLanguages) {
+        super(localeMapper, defaultLocale, supportedLanguages);
+    }
+
+    @Override
+    public void sendMessage(@NotNull CommandSender sender, @NotNull MessageType type, @NotNull MessageKeyProvider key, boolean prefix) {
+        sendMessage(sender, type, key, prefix, NO_REPLACEMENTS);
+    }
+
+    @Override
+    public void sendMessage(@NotNull CommandSender sender, @NotNull MessageType type, @NotNull MessageKeyProvider key, boolean prefix,
+                            String... replacements) {
+        final Locale locale = resolveLocale(sender);
+        final MessageKey msgKey = key.getMessageKey();
+        deliver(sender, () -> withPrefix(locale, type, prefix, getComponentTemplate(locale, type, msgKey).render(replacements)),
+                SEND_COMPONENT);
+    }
+
+    @Override
+    public void sendMessage(@NotNull CommandSender sender, @NotNull MessageType type, @NotNull MessageKeyProvider key, boolean prefix,
+                            @NotNull Map<String, ?> replacements) {
+        final Locale locale = resolveLocale(sender);
+        final MessageKey msgKey = key.getMessageKey();
+        deliver(sender, () -> withPrefix(locale, type, prefix, getComponentTemplate(locale, type, msgKey).render(replacements)),
+                SEND_COMPONENT);
+    }
+
+    @Override
+    public void broadcast(@NotNull Collection<? extends CommandSender> recipients, @NotNull MessageType type,
+                          @NotNull MessageKeyProvider key, boolean prefix, String... replacements) {
+        final MessageKey msgKey = key.getMessageKey();
+        broadcast(recipients, locale -> withPrefix(locale, type, prefix, getComponentTemplate(locale, type, msgKey).render(replacements)),
+                null, SEND_COMPONENT);
+    }
+
+    @Override
+    public void broadcast(@NotNull Collection<? extends CommandSender> recipients, @NotNull MessageType type,
+                          @NotNull MessageKeyProvider key, boolean prefix,
+                          @NotNull Function<? super CommandSender, ? extends Map<String, ?>> recipientReplacements,
+                          String... replacements) {
+        final MessageKey msgKey = key.getMessageKey();
+        Placeholders.checkPairs(replacements);
+        broadcast(recipients, locale -> {
+            final ComponentTemplate template = getComponentTemplate(locale, type, msgKey);
+            return (Function<Map<String, ?>, Component>) merged -> withPrefix(locale, type, prefix, template.render(merged));
+        }, (recipient, renderer) -> renderer.apply(Placeholders.merge(recipientReplacements.apply(recipient), replacements)),
+                SEND_COMPONENT);
+    }
+
+    @Override
+    void invalidateCaches() {
+        super.invalidateCaches();
+        // Called by the superclass constructor before the fields of this class are initialized
+        if (componentTemplates == null)
+            return;
+        componentTemplates.clear();
+        prefixComponents.clear();
+    }
+
+    /**
+     * Gets the compiled component template of a message, compiling it on first use.
+     *
+     * @param locale the locale.
+     * @param type   the message type.
+     * @param msgKey the key of the message.
+     * @return the component template.
+     */
+    private @NotNull ComponentTemplate getComponentTemplate(@NotNull Locale locale, @NotNull MessageType type, @NotNull MessageKey msgKey) {
+        final MessageTemplate template = getTemplate(locale, type, msgKey);
+        final ComponentTemplate compiled = componentTemplates.get(template);
+        return compiled != null ? compiled : componentTemplates.computeIfAbsent(template, ComponentTemplate::compile);
+    }
+
+    /**
+     * Prepends the plugin prefix to a message, if requested.
+     *
+     * @param locale  the locale.
+     * @param type    the message type.
+     * @param prefix  {@code true} if the message should have the plugin prefix, {@code false} otherwise.
+     * @param message the message.
+     * @return the message, with the plugin prefix if requested.
+     */
+    private @NotNull Component withPrefix(@NotNull Locale locale, @NotNull MessageType type, boolean prefix, @NotNull Component message) {
+        if (!prefix)
+            return message;
+        Map<MessageType, Component> localePrefixes = prefixComponents.get(locale);
+        if (localePrefixes == null)
+            localePrefixes = prefixComponents.computeIfAbsent(locale, k -> new ConcurrentHashMap<>());
+        Component prefixComponent = localePrefixes.get(type);
+        if (prefixComponent == null)
+            prefixComponent = localePrefixes.computeIfAbsent(type, k -> ComponentTemplate.LEGACY.deserialize(getPrefix(locale, type)));
+        return Component.text().append(prefixComponent).append(message).build();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Replaces {@code %placeholder%} occurrences in strings in a single scan.
+ * <p>
+ * Replacement values are inserted as-is and are not scanned again, so a value containing another placeholder is never replaced in turn.
+ * Values given as a {@link Supplier} are only computed when their placeholder occurs in the string.
+ * </p>
+ *
+ * @since 0.1
+ */
+final class Placeholders {
+
+    private Placeholders() {
+    }
+
+    /**
+     * Replaces the placeholders in the given string.
+     *
+     * @param string       the string.
+     * @param replacements the replacements, as key-value pairs of placeholder names without the surrounding {@code %} and their values.
+     * @return the string with the placeholders replaced.
+     * @throws IllegalArgumentException if the replacements are not in pairs of two.
+     */
+    static @NotNull String replace(@NotNull String string, @NotNull String... replacements) {
+        checkPairs(replacements);
+        int start = string.indexOf('%');
+        if (start < 0 || replacements.length == 0)
+            return string;
+
+        final StringBuilder sb = new StringBuilder(string.length() + 16 * (replacements.length / 2));
+        int last = 0;
+        while (start >= 0) {
+            final int index = matchKey(string, start, replacements);
+            if (index < 0) {
+                start = string.indexOf('%', start + 1);
+                continue;
+            }
+            sb.append(string, last, start);
+            final String value = replacements[index + 1];
+            if (value != null)
+                sb.append(value);
+            last = start + replacements[index].length() + 2;
+            start = string.indexOf('%', last);
+        }
+        return last == 0 ? string : sb.append(string, last, string.length()).toString();
+    }
+
+    /**
+     * Replaces the placeholders in the given string.
+     *
+     * @param string       the string.
+     * @param replacements the replacements, mapping placeholder names without the surrounding {@code %} to their values. Values may be
+     *                     {@link Supplier}s, which are only called if their placeholder occurs in the string.
+     * @return the string with the placeholders replaced.
+     */
+    static @NotNull String replace(@NotNull String string, @NotNull Map<String, ?> replacements) {
+        int start = string.indexOf('%');
+        if (start < 0 || replacements.isEmpty())
+            return string;
+
+        final StringBuilder sb = new StringBuilder(string.length() + 16 * replacements.size());
+        int last = 0;
+        while (start >= 0) {
+            final int end = string.indexOf('%', start + 1);
+            if (end < 0)
+                break;
+            final String key = string.substring(start + 1, end);
+            final Object value = replacements.get(key);
+            if (value == null && !replacements.containsKey(key)) {
+                start = end;
+                continue;
+            }
+            sb.append(string, last, start).append(valueOf(value));
+            last = end + 1;
+            start = string.indexOf('%', last);
+        }
+        return last == 0 ? string : sb.append(string, last, string.length()).toString();
+    }
+
+    /**
+     * Merges key-value pairs of replacements into a copy of the given replacements. The key-value pairs take precedence over the
+     * replacements with the same name.
+     *
+     * @param replacements the replacements.
+     * @param pairs        the key-value pairs to merge into the replacements.
+     * @return the merged replacements.
+     */
+    static @NotNull Map<String, Object> merge(@NotNull Map<String, ?> replacements, @NotNull String... pairs) {
+        final Map<String, Object> merged = new HashMap<>(replacements.size() + pairs.length);
+        merged.putAll(replacements);
+        for (int i = 0; i < pairs.length; i += 2)
+            if (pairs[i] != null)
+                merged.put(pairs[i], pairs[i + 1]);
+        return merged;
+    }
+
+    /**
+     * Checks that the given replacements are in pairs of two.
+     *
+     * @param replacements the replacements, as key-value pairs.
+     * @throws IllegalArgumentException if the replacements are not in pairs of two.
+     */
+    static void checkPairs(@NotNull String[] replacements) {
+        if (replacements.length % 2 != 0)
+            throw new IllegalArgumentException("Replacements must be in pairs of two.");
+    }
+
+    /**
+     * Gets the string value of a replacement, calling it first if it is a {@link Supplier}.
+     *
+     * @param value the replacement.
+     * @return the string value, or an empty string if the value is {@code null}.
+     */
+    static @NotNull String valueOf(@Nullable Object value) {
+        if (value instanceof Supplier)
+            value = ((Supplier<?>) value).get();
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Matches the keys of the given key-value pairs against the placeholder starting at the given index.
+     *
+     * @param string       the string.
+     * @param start        the index of the opening {@code %}.
+     * @param replacements the key-value pairs.
+     * @return the index of the matching key, or {@code -1} if no key matches.
+     */
+    private static int matchKey(@NotNull String string, int start, @NotNull String[] replacements) {
+        for (int i = 0; i < replacements.length; i += 2) {
+            final String key = replacements[i];
+            if (key == null)
+                continue;
+            final int end = start + key.length() + 1;
+            if (end < string.length() && string.charAt(end) == '%' && string.regionMatches(start + 1, key, 0, key.length()))
+                return i;
+        }
+        return -1;
+    }
+}
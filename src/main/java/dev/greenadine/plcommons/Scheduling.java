@@ -113,4 +113,30 @@ public final class Scheduling {
     public static @NotNull BukkitTask runLaterAsync(long delay, @NotNull Runnable task) {
         return scheduler.runTaskLaterAsynchronously(plugin, task, delay);
     }
+
+    /**
+     * Runs the given task synchronously every period, starting after the given delay.
+     *
+     * @param delay  the delay in ticks.
+     * @param period the period in ticks.
+     * @param task   the task to run.
+     * @return the Bukkit task.
+     */
+    public static @NotNull BukkitTask runTimer(long delay, long period, @NotNull Runnable task) {
+        return scheduler.runTaskTimer(plugin, task, delay, period);
+    }
+
+    /**
+     * Runs the given task asynchronously every period, starting after the given delay. Useful for task that are not required to be run on
+     * the main thread.
+     *
+     * @param delay  the delay in ticks.
+     * @param period the period in ticks.
+     * @param task   the task to run.
+     * @return the Bukkit task.
+     */
+    @Async
+    public static @NotNull BukkitTask runTimerAsync(long delay, long period, @NotNull Runnable task) {
+        return scheduler.runTaskTimerAsynchronously(plugin, task, delay, period);
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons.annotation;
+
+import dev.greenadine.plcommons.PLCConfig;
+
+import java.lang.annotation.*;
+
+/**
+ * An annotation for binding a field of a config class to a path in the configuration. Config classes are bound through
+ * {@link PLCConfig#bind(Class)}, which creates a new instance through the class's no-args constructor and sets all annotated fields to the
+ * values at their paths.
+ * <p>
+ * Annotated fields may be {@code final}, but should then not be initialized with a constant expression, as the compiler inlines reads of
+ * constant fields. Supported field types are {@code int}, {@code long}, {@code double}, {@code boolean} and their wrappers, {@link String},
+ * enums, {@link java.util.List}, and any other type the configuration value is an instance of.
+ *
+ * @see Range
+ * @since 0.1
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConfigPath {
+
+    /**
+     * The path of the value in the configuration.
+     *
+     * @return the path.
+     */
+    String value();
+
+    /**
+     * Whether a value must be set at the path. If not required and no value is set, the field keeps the value assigned by the constructor.
+     *
+     * @return {@code true} if a value is required, {@code false} otherwise.
+     */
+    boolean required() default true;
+}
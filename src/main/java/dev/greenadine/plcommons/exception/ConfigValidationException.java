@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2024 Greenadine
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.greenadine.plcommons.exception;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when a configuration does not match its schema, listing every error that was found.
+ *
+ * @since 0.1
+ */
+public class ConfigValidationException extends RuntimeException {
+
+    private final List<String> errors;
+
+    @Internal
+    public ConfigValidationException(@NotNull String fileName, @NotNull List<String> errors) {
+        super("Configuration file '" + fileName + "' contains " + errors.size() + " error(s): " + String.join("; ", errors));
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Gets the errors that were found while validating the configuration.
+     *
+     * @return the errors.
+     */
+    public @NotNull List<String> getErrors() {
+        return errors;
+    }
+}